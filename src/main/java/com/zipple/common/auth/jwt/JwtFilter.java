@@ -8,28 +8,51 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.GenericFilterBean;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 public class JwtFilter extends GenericFilterBean {
 
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     private final JwtTokenProvider jwtTokenProvider;
 
+    /**
+     * 지연 인증 경로. 이 경로에서는 서명만 확인하고 사용자 조회는 실제로 필요할 때(GetMember)까지 미룬다.
+     */
+    private final List<String> deferredPaths;
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-        String token = resolveToken((HttpServletRequest) request);
-
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Authentication authentication = jwtTokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String token = resolveToken(httpRequest);
+
+        if (token != null) {
+            Optional<Authentication> authentication = isDeferred(httpRequest)
+                    ? jwtTokenProvider.authenticateDeferred(token)
+                    : jwtTokenProvider.authenticate(token);
+            authentication.ifPresent(auth -> SecurityContextHolder.getContext().setAuthentication(auth));
         }
 
         chain.doFilter(request, response);
     }
 
+    private boolean isDeferred(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : deferredPaths) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer")) {
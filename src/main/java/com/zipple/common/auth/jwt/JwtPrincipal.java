@@ -0,0 +1,42 @@
+package com.zipple.common.auth.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * JWT 로 인증된 사용자. 토큰 해시 캐시에 그대로 보관되므로 불변으로 유지한다.
+ * username 은 기존과 같이 이메일이라 Authentication.getName() 을 쓰는 코드는 그대로 동작한다.
+ * 지연 인증 경로에서는 클레임만으로 만들어지므로 email 이 null 이다. 사용자 식별은 userId 로 한다.
+ * sessionId 는 로그인한 기기(세션)를 구분하는 sid 클레임이며, 이메일 로그인 토큰처럼 세션이 없으면 null 이다.
+ * tokenId 는 토큰마다 붙는 jti 클레임으로, 로그아웃 시 토큰 폐기에 쓰인다.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal implements UserDetails {
+
+    private final Long userId;
+    private final String email;
+    private final String sessionId;
+    private final String tokenId;
+    private final long expiresAt;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,45 +1,132 @@
 package com.zipple.common.auth.jwt;
 
-import com.zipple.module.member.common.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.zipple.module.member.common.repository.UserRepository;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
-
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Collections;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    public static final String SESSION_ID_CLAIM = "sid";
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN_TYPE = "access";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    public static final String PRINCIPAL_EVICTION_CHANNEL = "jwt:principal:evict";
+
     private final Key key;
+    private final JwtParser jwtParser;
     private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final RedisTemplate<String, String> redisTemplate;
 
-    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey, UserRepository userRepository) {
+    /**
+     * 토큰 SHA-256 해시 -> 인증된 사용자. 항목은 토큰의 exp 시각에 만료되므로 같은 토큰으로 다시 들어온 요청은 DB 를 조회하지 않는다.
+     */
+    private final Cache<String, JwtPrincipal> principalCache;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey,
+                            @Value("${jwt.principal-cache.max-size:10000}") long principalCacheSize,
+                            UserRepository userRepository,
+                            TokenRevocationService tokenRevocationService,
+                            RedisTemplate<String, String> redisTemplate,
+                            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.redisTemplate = redisTemplate;
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.principalCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(principalCacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, JwtPrincipal principal, long currentTime) {
+                        long remainingMillis = principal.getExpiresAt() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return expireAfterCreate(tokenHash, principal, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build(), "jwt.principal");
     }
 
     public String generate(String subject, Date expiredAt) {
-        return Jwts.builder()
+        return generate(subject, null, ACCESS_TOKEN_TYPE, expiredAt);
+    }
+
+    /**
+     * @param tokenType {@link #ACCESS_TOKEN_TYPE} 또는 {@link #REFRESH_TOKEN_TYPE}. typ 클레임으로 들어가 두 토큰을 서로 대신 쓰지 못하게 한다.
+     */
+    public String generate(String subject, String sessionId, String tokenType, Date expiredAt) {
+        return generate(subject, UUID.randomUUID().toString(), sessionId, tokenType, expiredAt);
+    }
+
+    /**
+     * @param tokenId jti 클레임. 발급한 쪽이 토큰을 나중에 폐기할 수 있도록 미리 정해 넘긴다.
+     */
+    public String generate(String subject, String tokenId, String sessionId, String tokenType, Date expiredAt) {
+        JwtBuilder builder = Jwts.builder()
+                .setId(tokenId)
                 .setSubject(subject)
-                .setExpiration(expiredAt)
+                .claim(TOKEN_TYPE_CLAIM, tokenType)
+                .setExpiration(expiredAt);
+        if (sessionId != null) {
+            builder.claim(SESSION_ID_CLAIM, sessionId);
+        }
+        return builder
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    /**
+     * 리프레시 토큰을 검증한다. 서명이 맞고 만료되지 않은 리프레시 토큰(typ=refresh)인 경우에만 사용자 id, sid, jti 를 돌려준다(DB 조회 없음).
+     * 액세스 토큰은 여기서 거절하므로 세션 회전(재사용 감지)까지 가지 않는다.
+     */
+    public Optional<JwtPrincipal> parseRefreshToken(String token) {
+        Claims claims = verifiedClaims(token);
+        if (claims != null && !REFRESH_TOKEN_TYPE.equals(tokenTypeOf(claims))) {
+            log.info("리프레시 토큰이 아닌 토큰으로 갱신 요청 typ={}", tokenTypeOf(claims));
+            return Optional.empty();
+        }
+        Long userId = claims == null ? null : subjectAsUserId(claims);
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new JwtPrincipal(userId, null, sessionIdOf(claims), claims.getId(), expirationOf(claims)));
+    }
+
     public String extractSubject(String token) {
         Claims claims = parseClaims(token);
         return claims.getSubject();
@@ -47,11 +134,7 @@ public class JwtTokenProvider {
 
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(accessToken)
-                    .getBody();
+            return jwtParser.parseClaimsJws(accessToken).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -59,12 +142,12 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
             return true;
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT Token", e);
         } catch (ExpiredJwtException e) {
-            return true;
+            log.debug("Expired JWT Token");
         } catch (UnsupportedJwtException e) {
             log.info("Unsupported JWT Token", e);
         } catch (IllegalArgumentException e) {
@@ -73,24 +156,145 @@ public class JwtTokenProvider {
         return false;
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = parseClaims(token);
-        String subject = claims.getSubject();
-        User user = new User();
-        Optional<User> memberInfo = userRepository.findById(Long.valueOf(subject));
-        UserDetails userDetails = loadUserDetails(memberInfo.get().getEmail());
-        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    /**
+     * 토큰을 한 번만 파싱해 검증과 사용자 확인을 함께 처리한다. 캐시에 있으면 파싱과 DB 조회를 모두 건너뛴다.
+     * 만료되었거나 폐기된 토큰은 인증하지 않는다. 폐기 확인은 대부분 메모리 필터에서 끝난다.
+     */
+    public Optional<Authentication> authenticate(String token) {
+        String tokenHash = hash(token);
+        JwtPrincipal principal = principalCache.getIfPresent(tokenHash);
+        if (principal == null) {
+            principal = resolvePrincipal(token);
+            if (principal == null) {
+                return Optional.empty();
+            }
+            principalCache.put(tokenHash, principal);
+        }
+        if (tokenRevocationService.isRevoked(principal.getTokenId())) {
+            return Optional.empty();
+        }
+        return Optional.of(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * 공개 API 용 지연 인증. 서명과 만료 정보만 확인하고 클레임의 사용자 id 로 인증 정보를 만든다(DB 조회 없음).
+     * 이메일은 채우지 않으며, User 엔티티가 필요하면 GetMember 가 id 로 그때 조회한다.
+     */
+    public Optional<Authentication> authenticateDeferred(String token) {
+        JwtPrincipal principal = principalCache.getIfPresent(hash(token));
+        if (principal == null) {
+            Claims claims = accessClaims(token);
+            Long userId = claims == null ? null : subjectAsUserId(claims);
+            if (userId == null) {
+                return Optional.empty();
+            }
+            principal = new JwtPrincipal(userId, null, sessionIdOf(claims), claims.getId(), expirationOf(claims));
+        }
+        if (tokenRevocationService.isRevoked(principal.getTokenId())) {
+            return Optional.empty();
+        }
+        return Optional.of(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * 탈퇴 등으로 사용자가 사라졌을 때 캐시된 인증 정보를 지운다.
+     * 이 노드에서 바로 지우고 {@link #PRINCIPAL_EVICTION_CHANNEL} 로 알려 다른 노드의 캐시도 비운다.
+     */
+    public void evictPrincipal(Long userId) {
+        evictPrincipalLocal(userId);
+        try {
+            redisTemplate.convertAndSend(PRINCIPAL_EVICTION_CHANNEL, String.valueOf(userId));
+        } catch (RuntimeException e) {
+            log.warn("인증 캐시 무효화 발행 실패 userId={}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드가 보낸 무효화 메시지를 받았을 때 이 노드의 캐시만 비운다.
+     */
+    public void evictPrincipalLocal(Long userId) {
+        principalCache.asMap().values().removeIf(principal -> principal.getUserId().equals(userId));
+    }
+
+    private JwtPrincipal resolvePrincipal(String token) {
+        Claims claims = accessClaims(token);
+        Long userId = claims == null ? null : subjectAsUserId(claims);
+        if (userId == null) {
+            return null;
+        }
+
+        long expiresAt = expirationOf(claims);
+        String sessionId = sessionIdOf(claims);
+        String tokenId = claims.getId();
+        return userRepository.findEmailById(userId)
+                .map(email -> new JwtPrincipal(userId, email, sessionId, tokenId, expiresAt))
+                .orElse(null);
     }
 
-    private UserDetails loadUserDetails(String subject) {
-        userRepository.findByEmail(subject)
-                .orElseThrow(() -> new UsernameNotFoundException("유저 없다"));
-        return new org.springframework.security.core.userdetails.User(subject, "", Collections.emptyList());
+    /**
+     * 서명과 만료를 모두 확인한 클레임. 만료된 토큰이면 null 이다.
+     */
+    private Claims verifiedClaims(String token) {
+        try {
+            return jwtParser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            log.debug("Expired JWT Token");
+        } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
+            log.info("Invalid JWT Token", e);
+        } catch (UnsupportedJwtException e) {
+            log.info("Unsupported JWT Token", e);
+        } catch (IllegalArgumentException e) {
+            log.info("JWT claims string is empty.", e);
+        }
+        return null;
+    }
+
+    /**
+     * 요청 인증에 쓸 클레임. 리프레시 토큰은 Authorization 헤더로 받지 않는다.
+     * typ 클레임이 도입되기 전에 발급된 액세스 토큰은 typ 가 없으므로 그대로 받는다.
+     */
+    private Claims accessClaims(String token) {
+        Claims claims = verifiedClaims(token);
+        if (claims != null && REFRESH_TOKEN_TYPE.equals(tokenTypeOf(claims))) {
+            log.info("리프레시 토큰으로 인증 요청");
+            return null;
+        }
+        return claims;
+    }
+
+    private String tokenTypeOf(Claims claims) {
+        return claims.get(TOKEN_TYPE_CLAIM, String.class);
+    }
+
+    private Long subjectAsUserId(Claims claims) {
+        try {
+            return Long.valueOf(claims.getSubject());
+        } catch (NumberFormatException e) {
+            log.info("Invalid JWT subject: {}", claims.getSubject());
+            return null;
+        }
+    }
+
+    private long expirationOf(Claims claims) {
+        return claims.getExpiration() == null ? 0L : claims.getExpiration().getTime();
+    }
+
+    private String sessionIdOf(Claims claims) {
+        return claims.get(SESSION_ID_CLAIM, String.class);
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public long getRemainingExpiration(String token) {
         try {
-            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
             long expMillis = claims.getExpiration().getTime();
             long nowMillis = System.currentTimeMillis();
             return expMillis - nowMillis;
@@ -101,11 +305,7 @@ public class JwtTokenProvider {
 
     public String getRemainingTime(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
             long expirationTimeMillis = claims.getExpiration().getTime();
             long currentTimeMillis = System.currentTimeMillis();
@@ -0,0 +1,37 @@
+package com.zipple.common.auth.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link JwtTokenProvider#PRINCIPAL_EVICTION_CHANNEL} 을 구독해 이 노드에 캐시된 사용자 인증 정보를 지운다.
+ * 메시지 본문은 사용자 id 다.
+ */
+@Slf4j
+@Component
+public class PrincipalEvictionListener implements MessageListener {
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public PrincipalEvictionListener(JwtTokenProvider jwtTokenProvider,
+                                     RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(JwtTokenProvider.PRINCIPAL_EVICTION_CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            jwtTokenProvider.evictPrincipalLocal(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 인증 캐시 무효화 메시지: {}", body);
+        }
+    }
+}
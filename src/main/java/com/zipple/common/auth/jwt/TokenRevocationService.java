@@ -0,0 +1,154 @@
+package com.zipple.common.auth.jwt;
+
+import com.zipple.common.utils.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * 폐기된 토큰(jti) 확인. 각 노드는 폐기된 jti 의 Bloom 필터를 메모리에 들고 있어,
+ * 폐기되지 않은 토큰은 네트워크 호출 없이 통과하고 필터에 걸린 경우에만 Redis(jwt:revoked:{jti})로 확정한다.
+ * <p>
+ * 폐기는 Redis 에 jti 를 토큰 만료 시각까지 기록하고 {@link #REVOCATION_CHANNEL} 로 알려 모든 노드의 필터에 추가한다.
+ * 필터는 값을 지울 수 없으므로 주기적으로 jwt:revoked(만료 시각 점수의 ZSET)에서 아직 유효한 jti 만으로 다시 만든다.
+ * 재구성은 pub/sub 메시지를 놓친 노드를 맞추는 역할도 한다.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService implements MessageListener {
+
+    public static final String REVOCATION_CHANNEL = "jwt:revoke";
+
+    private static final String REVOKED_SET = "jwt:revoked";
+    private static final String REVOKED_PREFIX = "jwt:revoked:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Counter filterHit;
+    private final Counter confirmedRevoked;
+
+    private volatile BloomFilter current;
+    private BloomFilter building;
+
+    public TokenRevocationService(RedisTemplate<String, String> redisTemplate,
+                                  RedisMessageListenerContainer redisMessageListenerContainer,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.filterHit = Counter.builder("jwt.revocation.checks")
+                .description("폐기 필터에 걸려 Redis 로 확인한 횟수")
+                .tag("result", "filter-hit")
+                .register(meterRegistry);
+        this.confirmedRevoked = Counter.builder("jwt.revocation.checks")
+                .description("폐기 필터에 걸려 Redis 로 확인한 횟수")
+                .tag("result", "revoked")
+                .register(meterRegistry);
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        rebuild();
+    }
+
+    /**
+     * 토큰을 만료 시각까지 폐기한다.
+     */
+    public void revoke(String tokenId, long expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        long remainingMillis = expiresAt - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return;
+        }
+
+        byte[] key = (REVOKED_PREFIX + tokenId).getBytes(StandardCharsets.UTF_8);
+        byte[] setKey = REVOKED_SET.getBytes(StandardCharsets.UTF_8);
+        byte[] member = tokenId.getBytes(StandardCharsets.UTF_8);
+        byte[] channel = REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(key, "1".getBytes(StandardCharsets.UTF_8),
+                    Expiration.milliseconds(remainingMillis), RedisStringCommands.SetOption.upsert());
+            connection.zSetCommands().zAdd(setKey, expiresAt, member);
+            connection.publish(channel, member);
+            return null;
+        });
+        add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !current.mightContain(tokenId)) {
+            return false;
+        }
+
+        filterHit.increment();
+        try {
+            boolean revoked = Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_PREFIX + tokenId));
+            if (revoked) {
+                confirmedRevoked.increment();
+            }
+            return revoked;
+        } catch (RuntimeException e) {
+            // 필터에 걸린 토큰은 확인하지 못하면 폐기된 것으로 본다.
+            log.warn("토큰 폐기 여부 확인 실패: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:600000}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:600000}")
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        synchronized (this) {
+            building = next;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_SET, Double.NEGATIVE_INFINITY, now);
+            Set<String> tokenIds = redisTemplate.opsForZSet().rangeByScore(REVOKED_SET, now, Double.POSITIVE_INFINITY);
+            if (tokenIds != null) {
+                tokenIds.forEach(next::put);
+            }
+            synchronized (this) {
+                current = next;
+                building = null;
+            }
+            log.debug("토큰 폐기 필터 재구성: {}건", tokenIds == null ? 0 : tokenIds.size());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                building = null;
+            }
+            log.warn("토큰 폐기 필터 재구성 실패, 기존 필터를 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void add(String tokenId) {
+        current.put(tokenId);
+        if (building != null) {
+            building.put(tokenId);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.zipple.common.auth.jwt.token;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,7 +14,20 @@ public class AuthTokens {
     private String accessToken;
     private String refreshToken;
 
+    /** 액세스 토큰의 jti. 세션 저장소에 남겨 로그아웃/탈퇴 때 폐기하는 데 쓰고 응답에는 내보내지 않는다. */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String accessTokenId;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private long accessTokenExpiresAt;
+
     public static AuthTokens of(String accessToken, String refreshToken) {
-        return new AuthTokens(accessToken, refreshToken);
+        return new AuthTokens(accessToken, refreshToken, null, 0L);
+    }
+
+    public static AuthTokens of(String accessToken, String refreshToken, String accessTokenId, long accessTokenExpiresAt) {
+        return new AuthTokens(accessToken, refreshToken, accessTokenId, accessTokenExpiresAt);
     }
 }
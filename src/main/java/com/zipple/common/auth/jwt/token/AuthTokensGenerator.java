@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -16,15 +17,25 @@ public class AuthTokensGenerator {
     private final JwtTokenProvider jwtTokenProvider;
 
     public AuthTokens generate(Long userId) {
+        return generate(userId, null);
+    }
+
+    /**
+     * sessionId 는 두 토큰에 sid 클레임으로 들어가며, 리프레시 토큰 회전과 기기별 로그아웃에 쓰인다.
+     * 두 토큰은 typ 클레임(access / refresh)으로 구분한다.
+     * 액세스 토큰의 jti 는 여기서 정해 함께 돌려주며, 세션 저장소가 이를 보관했다가 로그아웃/탈퇴 때 폐기한다.
+     */
+    public AuthTokens generate(Long userId, String sessionId) {
         long now = (new Date()).getTime();
         Date accessTokenExpiredAt = new Date(now + ACCESS_TOKEN_EXPIRE_TIME);
         Date refreshTokenExpiredAt = new Date(now + REFRESH_TOKEN_EXPIRE_TIME);
 
         String subject = userId.toString();
-        String accessToken = jwtTokenProvider.generate(subject, accessTokenExpiredAt);
-        String refreshToken = jwtTokenProvider.generate(subject, refreshTokenExpiredAt);
+        String accessTokenId = UUID.randomUUID().toString();
+        String accessToken = jwtTokenProvider.generate(subject, accessTokenId, sessionId, JwtTokenProvider.ACCESS_TOKEN_TYPE, accessTokenExpiredAt);
+        String refreshToken = jwtTokenProvider.generate(subject, sessionId, JwtTokenProvider.REFRESH_TOKEN_TYPE, refreshTokenExpiredAt);
 
-        return AuthTokens.of(accessToken, refreshToken);
+        return AuthTokens.of(accessToken, refreshToken, accessTokenId, accessTokenExpiredAt.getTime());
     }
 
     public Long extractUserId(String accessToken) {
@@ -3,9 +3,11 @@ package com.zipple.common.auth.security;
 import com.zipple.common.auth.jwt.JwtFilter;
 import com.zipple.common.auth.jwt.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -77,10 +79,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public FilterRegistrationBean<JwtFilter> jwtFilter() {
+    public FilterRegistrationBean<JwtFilter> jwtFilter(
+            @Value("${jwt.deferred-paths:/api/v1/main/**}") String[] deferredPaths
+    ) {
         FilterRegistrationBean<JwtFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new JwtFilter(jwtTokenProvider));
+        registrationBean.setFilter(new JwtFilter(jwtTokenProvider, List.of(deferredPaths)));
         registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
         return registrationBean;
     }
 
@@ -0,0 +1,205 @@
+package com.zipple.common.auth.session;
+
+import com.zipple.common.auth.jwt.token.AuthTokens;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 로그인 세션을 Redis 해시 하나(user:{id}:session)에 보관한다.
+ * 로그인한 기기마다 세션 id(sid)를 두고, 필드 이름은 "{sid}:{항목}" 이다. 한 사용자가 여러 기기에서 동시에 로그인할 수 있다.
+ * <p>
+ * 필드별 만료는 값 앞에 만료 시각을 붙여("만료시각(ms):값") 읽을 때 확인하고, 로그인 시 만료된 필드를 정리한다.
+ * 키 자체는 가장 늦게 만료되는 필드 시각에 맞춰 만료된다.
+ * 서비스 리프레시 토큰은 원문 대신 SHA-256 해시만 저장한다.
+ * 세션에서 발급한 액세스 토큰은 토큰마다 "{sid}:accessTokenId:{jti}" 필드에 jti 를 남겨, 로그아웃이나 탈퇴 때 아직 살아 있는 토큰을 모두 폐기할 수 있게 한다.
+ * 로그인, 로그아웃, 토큰 갱신은 각각 Redis 명령(또는 스크립트) 한 번으로 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSessionStore {
+
+    public enum RotationResult {
+        ROTATED,
+        /** 세션이 없거나 만료됨 */
+        UNKNOWN,
+        /** 이미 회전된 토큰이 다시 사용됨. 세션을 폐기했다. */
+        REUSED
+    }
+
+    /**
+     * @param discardedAccessTokens REUSED 일 때 폐기한 세션에서 발급해 아직 만료되지 않은 액세스 토큰의 jti 와 만료 시각(ms)
+     */
+    public record Rotation(RotationResult result, Map<String, Long> discardedAccessTokens) {
+    }
+
+    private static final RedisScript<Long> OPEN_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/session-open.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/session-rotate.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLOSE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/session-close.lua"), List.class);
+
+    private static final String KAKAO_ACCESS_TOKEN = "kakaoAccessToken";
+    private static final String KAKAO_REFRESH_TOKEN = "kakaoRefreshToken";
+    private static final String REFRESH_TOKEN = "refreshToken";
+    private static final String ACCESS_TOKEN_ID = "accessTokenId";
+    private static final String ACCESS_TOKEN_ID_MARKER = ":" + ACCESS_TOKEN_ID + ":";
+
+    private static final Duration SERVICE_REFRESH_TOKEN_EXPIRATION = Duration.ofDays(7);
+    private static final Duration KAKAO_REFRESH_TOKEN_EXPIRATION = Duration.ofDays(7);
+    private static final Duration KAKAO_ACCESS_TOKEN_EXPIRATION = Duration.ofDays(1);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public void open(Long userId, String sessionId, String kakaoAccessToken, String kakaoRefreshToken, AuthTokens authTokens) {
+        long now = System.currentTimeMillis();
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(now));
+        addField(args, sessionId, KAKAO_ACCESS_TOKEN, kakaoAccessToken, now + KAKAO_ACCESS_TOKEN_EXPIRATION.toMillis());
+        addField(args, sessionId, KAKAO_REFRESH_TOKEN, kakaoRefreshToken, now + KAKAO_REFRESH_TOKEN_EXPIRATION.toMillis());
+        addField(args, sessionId, REFRESH_TOKEN, hash(authTokens.getRefreshToken()), now + SERVICE_REFRESH_TOKEN_EXPIRATION.toMillis());
+        addField(args, sessionId, accessTokenIdName(authTokens), authTokens.getAccessTokenId(), authTokens.getAccessTokenExpiresAt());
+
+        redisTemplate.execute(OPEN_SCRIPT, List.of(key(userId)), args.toArray());
+    }
+
+    public Rotation rotateRefreshToken(Long userId, String sessionId, String presentedToken, AuthTokens nextTokens) {
+        long now = System.currentTimeMillis();
+        long deadline = now + SERVICE_REFRESH_TOKEN_EXPIRATION.toMillis();
+
+        List<?> result = redisTemplate.execute(ROTATE_SCRIPT, List.of(key(userId)),
+                String.valueOf(now),
+                sessionId,
+                field(sessionId, REFRESH_TOKEN),
+                hash(presentedToken),
+                deadline + ":" + hash(nextTokens.getRefreshToken()),
+                String.valueOf(deadline),
+                field(sessionId, accessTokenIdName(nextTokens)),
+                nextTokens.getAccessTokenExpiresAt() + ":" + nextTokens.getAccessTokenId(),
+                ACCESS_TOKEN_ID_MARKER);
+
+        long status = result == null || result.isEmpty() ? 0L : Long.parseLong(result.get(0).toString());
+        if (status == 0L) {
+            return new Rotation(RotationResult.UNKNOWN, Map.of());
+        }
+        if (status < 0) {
+            log.warn("리프레시 토큰 재사용 감지 userId={} sid={}, 세션을 폐기합니다.", userId, sessionId);
+            return new Rotation(RotationResult.REUSED, liveAccessTokens(result.subList(1, result.size())));
+        }
+        return new Rotation(RotationResult.ROTATED, Map.of());
+    }
+
+    public String getKakaoAccessToken(Long userId, String sessionId) {
+        return get(userId, sessionId, KAKAO_ACCESS_TOKEN);
+    }
+
+    public String getKakaoRefreshToken(Long userId, String sessionId) {
+        return get(userId, sessionId, KAKAO_REFRESH_TOKEN);
+    }
+
+    /**
+     * 한 기기의 세션만 지운다(로그아웃).
+     *
+     * @return 그 세션에서 발급해 아직 만료되지 않은 액세스 토큰의 jti 와 만료 시각(ms)
+     */
+    public Map<String, Long> close(Long userId, String sessionId) {
+        return closeSessions(userId, sessionId);
+    }
+
+    /**
+     * 사용자의 모든 세션을 지운다(회원 탈퇴).
+     *
+     * @return 모든 세션에서 발급해 아직 만료되지 않은 액세스 토큰의 jti 와 만료 시각(ms)
+     */
+    public Map<String, Long> closeAll(Long userId) {
+        return closeSessions(userId, "");
+    }
+
+    private Map<String, Long> closeSessions(Long userId, String sessionId) {
+        List<?> removed = redisTemplate.execute(CLOSE_SCRIPT, List.of(key(userId)),
+                sessionId, ACCESS_TOKEN_ID_MARKER);
+        return liveAccessTokens(removed);
+    }
+
+    /**
+     * 스크립트가 돌려준 액세스 토큰 필드 값("만료시각(ms):jti") 중 아직 만료되지 않은 것만 jti -> 만료 시각으로 모은다.
+     */
+    private Map<String, Long> liveAccessTokens(List<?> removed) {
+        Map<String, Long> accessTokens = new HashMap<>();
+        if (removed == null) {
+            return accessTokens;
+        }
+        long now = System.currentTimeMillis();
+        for (Object stored : removed) {
+            String value = stored.toString();
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+            long deadline = Long.parseLong(value.substring(0, separator));
+            if (deadline > now) {
+                accessTokens.put(value.substring(separator + 1), deadline);
+            }
+        }
+        return accessTokens;
+    }
+
+    private String get(Long userId, String sessionId, String name) {
+        Object stored = redisTemplate.opsForHash().get(key(userId), field(sessionId, name));
+        if (stored == null) {
+            return null;
+        }
+        String value = stored.toString();
+        int separator = value.indexOf(':');
+        if (separator < 0 || Long.parseLong(value.substring(0, separator)) <= System.currentTimeMillis()) {
+            return null;
+        }
+        return value.substring(separator + 1);
+    }
+
+    private void addField(List<String> args, String sessionId, String name, String value, long deadline) {
+        if (value == null) {
+            return;
+        }
+        args.add(field(sessionId, name));
+        args.add(deadline + ":" + value);
+    }
+
+    private String accessTokenIdName(AuthTokens authTokens) {
+        return ACCESS_TOKEN_ID + ":" + authTokens.getAccessTokenId();
+    }
+
+    private String key(Long userId) {
+        return "user:" + userId + ":session";
+    }
+
+    private String field(String sessionId, String name) {
+        return sessionId + ":" + name;
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.zipple.common.client;
+
+import java.util.Arrays;
+
+/**
+ * 호출 횟수 기반 서킷 브레이커.
+ * 최근 windowSize 건 중 실패율이 임계치를 넘으면 OPEN 으로 바뀌어 openMillis 동안 호출을 바로 거절한다.
+ * 그 뒤 HALF_OPEN 에서 halfOpenCalls 건만 시험 호출을 허용하고, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN 이 된다.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+
+    private final boolean[] window;
+    private int index;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openMillis, int halfOpenCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenCalls = halfOpenCalls;
+        this.window = new boolean[windowSize];
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = 0;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        record(true);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (state == State.OPEN) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (failed) {
+                open();
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+
+        if (recorded == windowSize) {
+            if (window[index]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[index] = failed;
+        if (failed) {
+            failures++;
+        }
+        index = (index + 1) % windowSize;
+
+        if (recorded >= minimumCalls && failures * 100.0 / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        resetWindow();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        index = 0;
+        recorded = 0;
+        failures = 0;
+        Arrays.fill(window, false);
+    }
+}
@@ -0,0 +1,160 @@
+package com.zipple.common.client;
+
+import com.zipple.common.exception.custom.UpstreamBusyException;
+import com.zipple.common.exception.custom.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 외부 API 호출을 벌크헤드(동시 호출 수 제한)와 서킷 브레이커로 감싼다.
+ * 업스트림이 느려져도 묶이는 스레드는 maxConcurrent 개로 제한되고, 장애가 이어지면 호출 없이 바로 503 으로 응답한다.
+ * 동시 호출은 응답 본문을 다 읽고 응답을 닫을 때까지로 센다.
+ * 연결/타임아웃 예외와 5xx 응답을 실패로 센다.
+ */
+@Slf4j
+public class UpstreamGuardInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String name;
+    private final Semaphore bulkhead;
+    private final long maxWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Counter rejectedByBulkhead;
+    private final Counter rejectedByCircuit;
+
+    public UpstreamGuardInterceptor(String name,
+                                    int maxConcurrent,
+                                    Duration maxWait,
+                                    CircuitBreaker circuitBreaker,
+                                    MeterRegistry meterRegistry) {
+        this.name = name;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWaitMillis = maxWait.toMillis();
+        this.circuitBreaker = circuitBreaker;
+        this.rejectedByBulkhead = rejectedCounter(meterRegistry, name, "bulkhead");
+        this.rejectedByCircuit = rejectedCounter(meterRegistry, name, "circuit-open");
+        Gauge.builder("upstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("서킷 상태 (0: CLOSED, 1: OPEN, 2: HALF_OPEN)")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("upstream.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("벌크헤드 남은 동시 호출 수")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!acquireBulkhead()) {
+            rejectedByBulkhead.increment();
+            log.warn("{} 호출 거절: 동시 호출 한도 초과", name);
+            throw new UpstreamBusyException();
+        }
+
+        boolean handedOver = false;
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                rejectedByCircuit.increment();
+                throw new UpstreamUnavailableException();
+            }
+
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                if (response.getStatusCode().is5xxServerError()) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+                // 본문을 다 읽을 때까지는 호출이 끝난 것이 아니므로 벌크헤드는 응답을 닫을 때 돌려준다.
+                ClientHttpResponse guarded = new BulkheadReleasingResponse(response, bulkhead);
+                handedOver = true;
+                return guarded;
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+        } finally {
+            if (!handedOver) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 닫힐 때 벌크헤드를 한 번만 돌려주는 응답. RestTemplate 은 본문을 읽은 뒤(또는 실패한 뒤) 항상 응답을 닫는다.
+     */
+    private static final class BulkheadReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private BulkheadReleasingResponse(ClientHttpResponse delegate, Semaphore bulkhead) {
+            this.delegate = delegate;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.release();
+                }
+            }
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String name, String reason) {
+        return Counter.builder("upstream.rejected")
+                .description("외부 API 호출 거절 횟수")
+                .tag("client", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -1,14 +1,118 @@
 package com.zipple.common.config;
 
+import com.zipple.common.client.CircuitBreaker;
+import com.zipple.common.client.UpstreamGuardInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 외부 API(카카오, SENS)별 RestTemplate.
+ * 업스트림마다 커넥션 풀과 타임아웃을 따로 두어 한쪽이 느려져도 다른 쪽 커넥션을 빼앗지 않는다.
+ * 호출 지연은 RestTemplateBuilder 가 http.client.requests 로, 풀 사용량은 http.client.pool.* 로 기록한다.
+ * 모든 호출은 업스트림별 벌크헤드와 서킷 브레이커({@link UpstreamGuardInterceptor})를 거친다.
+ * 설정은 http-client.{업스트림 이름}.* 아래에 둔다.
+ */
 @Configuration
 public class ClientConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate kakaoRestTemplate(RestTemplateBuilder restTemplateBuilder,
+                                          MeterRegistry meterRegistry,
+                                          Environment environment) {
+        return pooledRestTemplate("kakao", restTemplateBuilder, meterRegistry, environment);
+    }
+
+    @Bean
+    public RestTemplate sensRestTemplate(RestTemplateBuilder restTemplateBuilder,
+                                         MeterRegistry meterRegistry,
+                                         Environment environment) {
+        return pooledRestTemplate("sens", restTemplateBuilder, meterRegistry, environment);
+    }
+
+    private RestTemplate pooledRestTemplate(String name,
+                                            RestTemplateBuilder restTemplateBuilder,
+                                            MeterRegistry meterRegistry,
+                                            Environment environment) {
+        String prefix = "http-client." + name + ".";
+        Duration connectTimeout = environment.getProperty(prefix + "connect-timeout", Duration.class, Duration.ofSeconds(2));
+        Duration readTimeout = environment.getProperty(prefix + "read-timeout", Duration.class, Duration.ofSeconds(5));
+        int maxConnections = environment.getProperty(prefix + "max-connections", Integer.class, 20);
+        int maxConnectionsPerRoute = environment.getProperty(prefix + "max-connections-per-route", Integer.class, 20);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+
+        registerPoolGauge(meterRegistry, name, "leased", connectionManager, pool -> pool.getTotalStats().getLeased());
+        registerPoolGauge(meterRegistry, name, "available", connectionManager, pool -> pool.getTotalStats().getAvailable());
+        registerPoolGauge(meterRegistry, name, "pending", connectionManager, pool -> pool.getTotalStats().getPending());
+        registerPoolGauge(meterRegistry, name, "max", connectionManager, pool -> pool.getTotalStats().getMax());
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                environment.getProperty(prefix + "circuit.window-size", Integer.class, 20),
+                environment.getProperty(prefix + "circuit.minimum-calls", Integer.class, 10),
+                environment.getProperty(prefix + "circuit.failure-rate-threshold", Double.class, 50.0),
+                environment.getProperty(prefix + "circuit.open-duration", Duration.class, Duration.ofSeconds(30)).toMillis(),
+                environment.getProperty(prefix + "circuit.half-open-calls", Integer.class, 3)
+        );
+        UpstreamGuardInterceptor guard = new UpstreamGuardInterceptor(
+                name,
+                environment.getProperty(prefix + "bulkhead.max-concurrent", Integer.class, 10),
+                environment.getProperty(prefix + "bulkhead.max-wait", Duration.class, Duration.ofMillis(100)),
+                circuitBreaker,
+                meterRegistry
+        );
+
+        // 외부 API 응답(KakaoTokens, SmsResponse 등)은 알 수 없는 필드와 java.time 값을 포함하므로
+        // 애플리케이션 ObjectMapper 빈 대신 RestTemplate 기본 컨버터를 그대로 쓴다.
+        return restTemplateBuilder
+                .messageConverters(new RestTemplate().getMessageConverters())
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalInterceptors(guard)
+                .build();
+    }
+
+    private void registerPoolGauge(MeterRegistry meterRegistry,
+                                   String name,
+                                   String state,
+                                   PoolingHttpClientConnectionManager connectionManager,
+                                   ToDoubleFunction<PoolingHttpClientConnectionManager> value) {
+        Gauge.builder("http.client.pool." + state, connectionManager, value)
+                .description("외부 API 커넥션 풀 상태")
+                .tag("client", name)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,32 @@
+package com.zipple.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 중개사 상세 프로필의 하위 쿼리를 병렬로 실행하는 풀.
+     * 작업마다 읽기 전용 커넥션을 하나씩 쓰므로 pool-size 는 DB 커넥션 풀 크기보다 작게 둔다.
+     * 큐가 가득 차면 호출 스레드에서 직접 실행해 대기열이 끝없이 늘어나지 않게 한다.
+     */
+    @Bean(name = "agentDetailExecutor")
+    public ThreadPoolTaskExecutor agentDetailExecutor(
+            @Value("${agent-detail.parallel.pool-size:8}") int poolSize,
+            @Value("${agent-detail.parallel.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("agent-detail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
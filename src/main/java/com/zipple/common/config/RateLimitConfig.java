@@ -0,0 +1,60 @@
+package com.zipple.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zipple.common.ratelimit.RateLimitFilter;
+import com.zipple.common.ratelimit.RateLimitRule;
+import com.zipple.common.ratelimit.RedisRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 공개 API 요청 수 제한 필터.
+ * rate-limit.groups 에 그룹 이름을 나열하고, 그룹마다 rate-limit.{그룹 이름}.paths/key/limit/window 를 둔다.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RedisTemplate<String, String> redisTemplate,
+                                                                  ObjectMapper objectMapper,
+                                                                  MeterRegistry meterRegistry,
+                                                                  Environment environment) {
+        RedisRateLimiter rateLimiter = new RedisRateLimiter(
+                redisTemplate,
+                environment.getProperty("rate-limit.local-ratio", Double.class, 0.2),
+                environment.getProperty("rate-limit.local-max-keys", Long.class, 100_000L));
+
+        FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RateLimitFilter(rules(environment), rateLimiter, objectMapper, meterRegistry));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setEnabled(environment.getProperty("rate-limit.enabled", Boolean.class, true));
+        // USER 기준 제한이 인증 정보를 쓰므로 JwtFilter 다음에 실행한다.
+        registrationBean.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registrationBean;
+    }
+
+    private List<RateLimitRule> rules(Environment environment) {
+        List<RateLimitRule> rules = new ArrayList<>();
+        for (String name : environment.getProperty("rate-limit.groups", String[].class, new String[0])) {
+            String prefix = "rate-limit." + name + ".";
+            rules.add(new RateLimitRule(
+                    name,
+                    List.of(environment.getProperty(prefix + "paths", String[].class, new String[0])),
+                    RateLimitRule.KeyType.valueOf(environment.getProperty(prefix + "key", "ip").toUpperCase(Locale.ROOT)),
+                    environment.getProperty(prefix + "limit", Integer.class, 60),
+                    environment.getProperty(prefix + "window", Duration.class, Duration.ofMinutes(1))
+            ));
+        }
+        return rules;
+    }
+}
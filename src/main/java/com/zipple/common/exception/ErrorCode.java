@@ -23,7 +23,12 @@ public enum ErrorCode {
     NULL_POINTER_EXCEPTION(HttpStatus.INTERNAL_SERVER_ERROR, "5002", "널 값이 발생했습니다."),
     ILLEGAL_ARGUMENT(HttpStatus.BAD_REQUEST, "5003", "잘못된 인자가 전달되었습니다."),
 
-    REQUEST_TOO_FAST(HttpStatus.TOO_MANY_REQUESTS, "4291", "요청이 너무 빠릅니다.");
+    UPSTREAM_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "5031", "외부 서비스가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해 주세요."),
+    UPSTREAM_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "5032", "외부 서비스 요청이 많습니다. 잠시 후 다시 시도해 주세요."),
+    UPSTREAM_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "5041", "외부 서비스 응답 시간이 초과되었습니다."),
+
+    REQUEST_TOO_FAST(HttpStatus.TOO_MANY_REQUESTS, "4291", "요청이 너무 빠릅니다."),
+    SMS_VERIFICATION_LOCKED(HttpStatus.TOO_MANY_REQUESTS, "4292", "인증 번호 입력 횟수를 초과했습니다. 잠시 후 다시 시도해 주세요.");
 
     private final HttpStatus status;
     private final String code;
@@ -4,6 +4,7 @@ import com.zipple.common.exception.custom.TokenInvalidException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,6 +30,11 @@ public class GlobalExceptionHandler {
         return buildResponse(ErrorCode.INVALID_REQUEST);
     }
 
+    @ExceptionHandler(ResourceAccessException.class)
+    public ResponseEntity<Object> handleResourceAccessException(ResourceAccessException ex) {
+        return buildResponse(ErrorCode.UPSTREAM_TIMEOUT);
+    }
+
     @ExceptionHandler(NullPointerException.class)
     public ResponseEntity<Object> handleNullPointerException(NullPointerException ex) {
         return buildResponse(ErrorCode.INTERNAL_SERVER_ERROR);
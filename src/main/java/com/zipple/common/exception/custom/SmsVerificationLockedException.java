@@ -0,0 +1,10 @@
+package com.zipple.common.exception.custom;
+
+import com.zipple.common.exception.ApiException;
+import com.zipple.common.exception.ErrorCode;
+
+public class SmsVerificationLockedException extends ApiException {
+    public SmsVerificationLockedException() {
+        super(ErrorCode.SMS_VERIFICATION_LOCKED);
+    }
+}
@@ -0,0 +1,10 @@
+package com.zipple.common.exception.custom;
+
+import com.zipple.common.exception.ApiException;
+import com.zipple.common.exception.ErrorCode;
+
+public class UpstreamBusyException extends ApiException {
+    public UpstreamBusyException() {
+        super(ErrorCode.UPSTREAM_BUSY);
+    }
+}
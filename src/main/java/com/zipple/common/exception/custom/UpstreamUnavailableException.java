@@ -0,0 +1,10 @@
+package com.zipple.common.exception.custom;
+
+import com.zipple.common.exception.ApiException;
+import com.zipple.common.exception.ErrorCode;
+
+public class UpstreamUnavailableException extends ApiException {
+    public UpstreamUnavailableException() {
+        super(ErrorCode.UPSTREAM_UNAVAILABLE);
+    }
+}
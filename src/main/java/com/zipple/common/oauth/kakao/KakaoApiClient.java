@@ -5,6 +5,7 @@ import com.zipple.common.oauth.OAuthInfoResponse;
 import com.zipple.common.oauth.OAuthLoginParams;
 import com.zipple.common.oauth.OAuthProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -18,6 +19,7 @@ import org.springframework.web.client.RestTemplate;
 @RequiredArgsConstructor
 public class KakaoApiClient implements OAuthApiClient {
     private static final String GRANT_TYPE = "authorization_code";
+    @Qualifier("kakaoRestTemplate")
     private final RestTemplate restTemplate;
 
     @Value("${spring.oauth.kakao.url.auth}")
@@ -0,0 +1,126 @@
+package com.zipple.common.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zipple.common.auth.jwt.JwtPrincipal;
+import com.zipple.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공개 API 경로 그룹별 요청 수 제한. 한도를 넘으면 컨트롤러까지 가지 않고 429(REQUEST_TOO_FAST)로 응답한다.
+ * USER 기준 그룹은 JwtFilter 가 채운 인증 정보를 쓰므로 JwtFilter 뒤에 등록한다.
+ * 거절 수는 rate-limit.rejected, 판정 경로(local/redis)는 rate-limit.checks 로 기록한다.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<RateLimitRule> rules;
+    private final RedisRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Counter> rejected = new HashMap<>();
+    private final Map<String, Counter> localChecks = new HashMap<>();
+    private final Map<String, Counter> redisChecks = new HashMap<>();
+
+    public RateLimitFilter(List<RateLimitRule> rules,
+                           RedisRateLimiter rateLimiter,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.rules = rules;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        for (RateLimitRule rule : rules) {
+            rejected.put(rule.getName(), Counter.builder("rate-limit.rejected")
+                    .description("요청 수 제한으로 거절된 요청 수")
+                    .tag("group", rule.getName())
+                    .register(meterRegistry));
+            localChecks.put(rule.getName(), checkCounter(meterRegistry, rule.getName(), "local"));
+            redisChecks.put(rule.getName(), checkCounter(meterRegistry, rule.getName(), "redis"));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitRule rule = findRule(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RedisRateLimiter.Decision decision = rateLimiter.tryAcquire(rule, resolveClientKey(rule, request));
+        if (decision == RedisRateLimiter.Decision.LOCAL_ALLOWED) {
+            localChecks.get(rule.getName()).increment();
+        } else {
+            redisChecks.get(rule.getName()).increment();
+        }
+
+        if (decision == RedisRateLimiter.Decision.REJECTED) {
+            rejected.get(rule.getName()).increment();
+            writeTooManyRequests(response, rule);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitRule findRule(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitRule rule : rules) {
+            for (String pattern : rule.getPaths()) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return rule;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String resolveClientKey(RateLimitRule rule, HttpServletRequest request) {
+        if (rule.getKeyType() == RateLimitRule.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+                return "user:" + principal.getUserId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, RateLimitRule rule) throws IOException {
+        ErrorCode errorCode = ErrorCode.REQUEST_TOO_FAST;
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", errorCode.getStatus().value());
+        body.put("errorCode", errorCode.getCode());
+        body.put("message", errorCode.getMessage());
+
+        response.setStatus(errorCode.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, rule.getWindow().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), body);
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String group, String source) {
+        return Counter.builder("rate-limit.checks")
+                .description("요청 수 제한 판정 경로")
+                .tag("group", group)
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.zipple.common.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 경로 그룹별 요청 수 제한. window 동안 keyType 기준으로 limit 건까지 허용한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RateLimitRule {
+
+    public enum KeyType {
+        IP,
+        /** 로그인 사용자는 사용자 id, 비로그인은 IP 기준 */
+        USER
+    }
+
+    private final String name;
+    private final List<String> paths;
+    private final KeyType keyType;
+    private final int limit;
+    private final Duration window;
+}
@@ -0,0 +1,96 @@
+package com.zipple.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis 슬라이딩 윈도우 카운터로 여러 노드에 걸친 요청 수를 제한한다.
+ * <p>
+ * 노드마다 클라이언트별로 마지막으로 본 추정치를 들고 있다가, 추정치 + 로컬 통과 수가 limit * localRatio 이하이면
+ * Redis 를 거치지 않고 통과시킨다. 로컬에서 통과시킨 수는 다음 Redis 호출 때 한꺼번에 반영한다.
+ * 노드 수가 N 이면 한 구간에서 최대 N * limit * localRatio 건까지 Redis 확인 없이 통과할 수 있으므로
+ * localRatio 는 1/N 이하로 둔다. Redis 장애 시에는 제한 없이 통과시킨다.
+ */
+@Slf4j
+public class RedisRateLimiter {
+
+    public enum Decision {
+        LOCAL_ALLOWED,
+        ALLOWED,
+        REJECTED
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/rate-limit.lua"), List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final double localRatio;
+    private final Cache<String, LocalWindow> localWindows;
+
+    public RedisRateLimiter(RedisTemplate<String, String> redisTemplate, double localRatio, long maxLocalKeys) {
+        this.redisTemplate = redisTemplate;
+        this.localRatio = localRatio;
+        this.localWindows = Caffeine.newBuilder()
+                .maximumSize(maxLocalKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public Decision tryAcquire(RateLimitRule rule, String clientKey) {
+        long now = System.currentTimeMillis();
+        long windowMillis = rule.getWindow().toMillis();
+        long windowIndex = now / windowMillis;
+        String baseKey = "rate:" + rule.getName() + ":" + clientKey;
+
+        LocalWindow local = localWindows.get(baseKey, key -> new LocalWindow());
+        long increment;
+        synchronized (local) {
+            if (local.windowIndex == windowIndex
+                    && local.remoteEstimate + local.pending + 1 <= rule.getLimit() * localRatio) {
+                local.pending++;
+                return Decision.LOCAL_ALLOWED;
+            }
+            // 구간이 바뀌었어도 아직 반영하지 못한 요청은 새 구간에 더해 적게 세지 않도록 한다.
+            increment = local.pending + 1;
+            local.pending = 0;
+        }
+
+        List<?> result;
+        try {
+            result = redisTemplate.execute(SCRIPT,
+                    List.of(baseKey + ":" + windowIndex, baseKey + ":" + (windowIndex - 1)),
+                    String.valueOf(rule.getLimit()),
+                    String.valueOf(windowMillis),
+                    String.valueOf(now - windowIndex * windowMillis),
+                    String.valueOf(increment));
+        } catch (RuntimeException e) {
+            log.warn("요청 수 제한 확인 실패 group={}: {}", rule.getName(), e.getMessage());
+            return Decision.ALLOWED;
+        }
+        if (result == null || result.size() < 2) {
+            return Decision.ALLOWED;
+        }
+
+        boolean allowed = ((Number) result.get(0)).longValue() == 1L;
+        long estimate = ((Number) result.get(1)).longValue();
+        synchronized (local) {
+            local.windowIndex = windowIndex;
+            local.remoteEstimate = estimate;
+        }
+        return allowed ? Decision.ALLOWED : Decision.REJECTED;
+    }
+
+    private static class LocalWindow {
+        private long windowIndex = -1;
+        private long remoteEstimate;
+        private long pending;
+    }
+}
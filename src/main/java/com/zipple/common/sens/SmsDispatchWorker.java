@@ -0,0 +1,266 @@
+package com.zipple.common.sens;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zipple.common.sens.domain.MessageRequest;
+import com.zipple.common.sens.domain.SmsRequest;
+import com.zipple.common.sens.domain.SmsResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * sms:dispatch 스트림에 쌓인 인증 문자를 모아서 SENS 로 보낸다.
+ * 한 번의 SENS 요청에 최대 batch-size 건을 담아 서명도 배치당 한 번만 만든다.
+ * 실패한 메시지는 컨슈머 그룹의 대기 목록(PEL)에 남겨 두었다가 지수 백오프로 다시 보내고,
+ * max-attempts 를 넘으면 포기한다. 결과는 sms:delivery:{번호} 에 하루 동안 남긴다.
+ * 다른 노드가 아직 보내고 있는 배치를 가져와 중복 발송하지 않도록, 재시도 대기와 XCLAIM 최소 유휴 시간은
+ * SENS 호출 한 번의 최대 소요 시간(커넥션 대기 + 연결 + 응답 대기)보다 길게 잡는다.
+ */
+@Slf4j
+@Component
+public class SmsDispatchWorker {
+
+    public static final String STREAM_KEY = "sms:dispatch";
+    public static final String FIELD_TO = "to";
+    public static final String FIELD_CONTENT = "content";
+
+    private static final String GROUP = "sms-dispatchers";
+    private static final String STATUS_PREFIX = "sms:delivery:";
+    private static final Duration STATUS_TTL = Duration.ofDays(1);
+    private static final Duration SEND_TIME_MARGIN = Duration.ofSeconds(5);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final String consumerName = "sms-" + UUID.randomUUID();
+
+    @Value("${sens.Access-Key-ID}")
+    private String accessKey;
+
+    @Value("${sens.Secret-Key}")
+    private String secretKey;
+
+    @Value("${sens.Service-ID}")
+    private String serviceId;
+
+    @Value("${sens.Sender-Phone}")
+    private String senderPhone;
+
+    @Value("${sens.url.api}")
+    private String apiUrl;
+
+    @Value("${sms.dispatch.batch-size:100}")
+    private int batchSize;
+
+    @Value("${sms.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${sms.dispatch.retry-backoff:15s}")
+    private Duration retryBackoff;
+
+    @Value("${http-client.sens.connect-timeout:2s}")
+    private Duration sensConnectTimeout;
+
+    @Value("${http-client.sens.read-timeout:5s}")
+    private Duration sensReadTimeout;
+
+    public SmsDispatchWorker(RedisTemplate<String, String> redisTemplate,
+                             @Qualifier("sensRestTemplate") RestTemplate restTemplate,
+                             ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void createGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                    .xGroupCreate(STREAM_KEY.getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0"), true));
+        } catch (RedisSystemException e) {
+            // 이미 그룹이 있으면 BUSYGROUP 오류가 난다.
+            log.debug("문자 발송 컨슈머 그룹 생성 생략: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("문자 발송 컨슈머 그룹 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sms.dispatch.poll-interval:500}")
+    public void drain() {
+        try {
+            retryPending();
+
+            List<MapRecord<String, Object, Object>> records;
+            do {
+                records = redisTemplate.opsForStream().read(
+                        Consumer.from(GROUP, consumerName),
+                        StreamReadOptions.empty().count(batchSize),
+                        StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+                if (records == null || records.isEmpty()) {
+                    return;
+                }
+            } while (dispatch(records) && records.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("문자 발송 큐 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void retryPending() {
+        Duration minIdle = claimMinIdle();
+        PendingMessages pending = redisTemplate.opsForStream().pending(STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+        List<RecordId> retryIds = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                // 마지막 전달 이후 발송이 아직 진행 중일 수 있다.
+                continue;
+            }
+            if (message.getTotalDeliveryCount() >= maxAttempts) {
+                giveUp(message.getId());
+                continue;
+            }
+            Duration backoff = minIdle.multipliedBy(1L << Math.min(message.getTotalDeliveryCount() - 1, 10));
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(backoff) >= 0) {
+                retryIds.add(message.getId());
+            }
+        }
+        if (retryIds.isEmpty()) {
+            return;
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream()
+                .claim(STREAM_KEY, GROUP, consumerName, minIdle, retryIds.toArray(RecordId[]::new));
+        dispatch(claimed);
+    }
+
+    /**
+     * 재시도 전 최소 유휴 시간. 커넥션 풀 대기와 연결에 각각 connect-timeout, 응답에 read-timeout 이 걸릴 수 있으므로
+     * 그 합에 여유를 더한 값보다 retry-backoff 가 짧으면 그 값을 쓴다.
+     */
+    private Duration claimMinIdle() {
+        Duration maxSendTime = sensConnectTimeout.multipliedBy(2).plus(sensReadTimeout).plus(SEND_TIME_MARGIN);
+        return retryBackoff.compareTo(maxSendTime) >= 0 ? retryBackoff : maxSendTime;
+    }
+
+    /**
+     * 한 배치를 SENS 로 보낸다. 성공하면 스트림에서 지우고, 실패하면 대기 목록에 남겨 재시도한다.
+     */
+    private boolean dispatch(List<MapRecord<String, Object, Object>> records) {
+        if (records.isEmpty()) {
+            return true;
+        }
+
+        List<MessageRequest> messages = records.stream()
+                .map(record -> new MessageRequest(
+                        (String) record.getValue().get(FIELD_TO),
+                        (String) record.getValue().get(FIELD_CONTENT)))
+                .toList();
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+
+        try {
+            SmsResponse response = send(messages);
+            String status = "SENT " + (response == null ? "" : response.getRequestId());
+            complete(ids, messages.stream().map(MessageRequest::getTo).toList(), status);
+            log.info("인증 문자 {}건 발송", messages.size());
+            return true;
+        } catch (RuntimeException | JsonProcessingException | GeneralSecurityException e) {
+            log.warn("인증 문자 {}건 발송 실패, 재시도 예정: {}", messages.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void giveUp(RecordId id) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(STREAM_KEY, Range.closed(id.getValue(), id.getValue()));
+        List<String> phones = records == null ? List.of() : records.stream()
+                .map(record -> (String) record.getValue().get(FIELD_TO))
+                .toList();
+        log.error("인증 문자 발송 포기 id={} to={}", id, phones);
+        complete(new RecordId[]{id}, phones, "FAILED");
+    }
+
+    private void complete(RecordId[] ids, List<String> phones, String status) {
+        byte[] streamKey = STREAM_KEY.getBytes(StandardCharsets.UTF_8);
+        byte[] statusValue = status.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.streamCommands().xAck(streamKey, GROUP, ids);
+            connection.streamCommands().xDel(streamKey, ids);
+            for (String phone : phones) {
+                connection.stringCommands().set((STATUS_PREFIX + phone).getBytes(StandardCharsets.UTF_8), statusValue,
+                        Expiration.from(STATUS_TTL), RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+    }
+
+    private SmsResponse send(List<MessageRequest> messages) throws JsonProcessingException, GeneralSecurityException {
+        Long time = System.currentTimeMillis();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("x-ncp-apigw-timestamp", time.toString());
+        headers.set("x-ncp-iam-access-key", accessKey);
+        headers.set("x-ncp-apigw-signature-v2", makeSignature(time));
+
+        SmsRequest request = SmsRequest.builder()
+                .type("SMS")
+                .contentType("COMM")
+                .countryCode("82")
+                .from(senderPhone)
+                .content(messages.get(0).getContent())
+                .messages(messages)
+                .build();
+
+        String body = objectMapper.writeValueAsString(request);
+        HttpEntity<String> httpBody = new HttpEntity<>(body, headers);
+
+        return restTemplate.postForObject(URI.create(apiUrl + "/services/" + serviceId + "/messages"), httpBody, SmsResponse.class);
+    }
+
+    private String makeSignature(Long time) throws GeneralSecurityException {
+        String space = " ";
+        String newLine = "\n";
+        String method = "POST";
+        String url = "/sms/v2/services/" + this.serviceId + "/messages";
+        String timestamp = time.toString();
+
+        String message = new StringBuilder()
+                .append(method)
+                .append(space)
+                .append(url)
+                .append(newLine)
+                .append(timestamp)
+                .append(newLine)
+                .append(accessKey)
+                .toString();
+
+        SecretKeySpec signingKey = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA1");
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(signingKey);
+
+        byte[] rawHmac = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(rawHmac);
+    }
+}
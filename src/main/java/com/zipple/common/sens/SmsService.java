@@ -1,120 +1,92 @@
 package com.zipple.common.sens;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zipple.common.exception.custom.RequestTooFastException;
+import com.zipple.common.exception.custom.SmsVerificationLockedException;
 import com.zipple.common.sens.domain.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.io.UnsupportedEncodingException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+
 import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.Base64;
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
+/**
+ * 인증 번호 발송/확인은 각각 Lua 스크립트 한 번으로 처리한다.
+ * 발송은 번호/IP 별 발송 제한 확인, 인증 번호 저장, 발송 큐 적재를 함께 하고,
+ * 확인은 비교와 삭제, 실패 횟수 증가와 잠금을 함께 해서 동시에 들어온 확인 요청이 둘 다 성공할 수 없다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SmsService {
 
-    @Value("${sens.Access-Key-ID}")
-    private String accessKey;
-
-    @Value("${sens.Secret-Key}")
-    private String secretKey;
-
-    @Value("${sens.Service-ID}")
-    private String serviceId;
+    private static final RedisScript<Long> SEND_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/sms-send.lua"), Long.class);
+    private static final RedisScript<Long> VERIFY_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/sms-verify.lua"), Long.class);
 
-    @Value("${sens.Sender-Phone}")
-    private String phoneNumber;
-
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
     private final RedisTemplate<String, String> redisTemplate;
 
     private final String PREFIX = "sms:verification:";
+    private final String ATTEMPT_PREFIX = "sms:attempt:";
+    private final String PHONE_THROTTLE_PREFIX = "sms:throttle:phone:";
+    private final String IP_THROTTLE_PREFIX = "sms:throttle:ip:";
     private final long EXPIRATION_TIME = 180;
+    private static final long DISPATCH_QUEUE_MAX_LENGTH = 100_000;
 
-    public void sendSms(MessageRequest messageResponse) throws JsonProcessingException, RestClientException, URISyntaxException, InvalidKeyException, NoSuchAlgorithmException, UnsupportedEncodingException, java.security.InvalidKeyException {
-        Long time = System.currentTimeMillis();
+    @Value("${sms.verify.max-attempts:5}")
+    private int maxVerifyAttempts;
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("x-ncp-apigw-timestamp", time.toString());
-        headers.set("x-ncp-iam-access-key", accessKey);
-        headers.set("x-ncp-apigw-signature-v2", makeSignature(time));
+    @Value("${sms.verify.lockout:10m}")
+    private Duration verifyLockout;
 
-        String messageCode = generateRandomCode();
-        String messageContent = "[" + messageCode + "] 집플에서 보내는 인증번호 입니다.";
+    @Value("${sms.throttle.phone-limit:5}")
+    private int phoneSendLimit;
 
-        String sendNumber = messageResponse.getTo();
-
-        MessageRequest newMessageRequest = new MessageRequest(sendNumber, messageContent);
-        List<MessageRequest> messages = new ArrayList<>();
-        messages.add(newMessageRequest);
-
-        saveVerificationCode(sendNumber, messageCode);
+    @Value("${sms.throttle.phone-window:10m}")
+    private Duration phoneSendWindow;
 
-        SmsRequest request = SmsRequest.builder()
-                .type("SMS")
-                .contentType("COMM")
-                .countryCode("82")
-                .from("01077723010")
-                .content(messageContent)
-                .messages(messages)
-                .build();
+    @Value("${sms.throttle.ip-limit:20}")
+    private int ipSendLimit;
 
-        String body = objectMapper.writeValueAsString(request);
-        HttpEntity<String> httpBody = new HttpEntity<>(body, headers);
+    @Value("${sms.throttle.ip-window:10m}")
+    private Duration ipSendWindow;
 
-        restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory());
-        SmsResponse response = restTemplate.postForObject(new URI("https://sens.apigw.ntruss.com/sms/v2/services/"+ serviceId +"/messages"), httpBody, SmsResponse.class);
+    /**
+     * 인증 번호를 저장하고 발송 큐(sms:dispatch)에 넣는다. Redis 왕복은 스크립트 한 번이다.
+     * 실제 SENS 호출은 {@link SmsDispatchWorker} 가 배치로 처리한다.
+     */
+    public void sendSms(MessageRequest messageResponse, String clientIp) {
+        String messageCode = generateRandomCode();
+        String messageContent = "[" + messageCode + "] 집플에서 보내는 인증번호 입니다.";
 
-    }
+        String sendNumber = messageResponse.getTo();
 
-    private String makeSignature(Long time) throws NoSuchAlgorithmException, UnsupportedEncodingException, java.security.InvalidKeyException {
-        String space = " ";
-        String newLine = "\n";
-        String method = "POST";
-        String url = "/sms/v2/services/" + this.serviceId + "/messages";
-        String timestamp = time.toString();
-        String accessKey = this.accessKey;
-        String secretKey = this.secretKey;
-
-        String message = new StringBuilder()
-                .append(method)
-                .append(space)
-                .append(url)
-                .append(newLine)
-                .append(timestamp)
-                .append(newLine)
-                .append(accessKey)
-                .toString();
-
-        SecretKeySpec signingKey = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA1");
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(signingKey);
-
-        byte[] rawHmac = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
-        return Base64.getEncoder().encodeToString(rawHmac);
+        Long result = redisTemplate.execute(SEND_SCRIPT,
+                List.of(PHONE_THROTTLE_PREFIX + sendNumber,
+                        IP_THROTTLE_PREFIX + clientIp,
+                        PREFIX + sendNumber,
+                        SmsDispatchWorker.STREAM_KEY),
+                String.valueOf(phoneSendLimit),
+                String.valueOf(phoneSendWindow.toSeconds()),
+                String.valueOf(ipSendLimit),
+                String.valueOf(ipSendWindow.toSeconds()),
+                messageCode,
+                String.valueOf(EXPIRATION_TIME),
+                String.valueOf(DISPATCH_QUEUE_MAX_LENGTH),
+                sendNumber,
+                messageContent);
+
+        if (result == null || result == 0L) {
+            log.warn("인증 문자 발송 제한 to={} ip={}", sendNumber, clientIp);
+            throw new RequestTooFastException();
+        }
     }
 
     private String generateRandomCode() {
@@ -123,31 +95,22 @@ public class SmsService {
         return String.valueOf(code);
     }
 
-    public void saveVerificationCode(String phoneNumber, String code) {
-        String key = PREFIX + phoneNumber;
-        redisTemplate.opsForValue().set(key, code, EXPIRATION_TIME, TimeUnit.SECONDS);
-    }
-
-    public String getVerificationCode(String phoneNumber) {
-        return redisTemplate.opsForValue().get(PREFIX + phoneNumber);
-    }
-
-    public void deleteVerificationCode(String phoneNumber) {
-        redisTemplate.delete(PREFIX + phoneNumber);
-    }
-
     public String verifyMessageCode(SmsVerificationRequest smsVerificationRequest) {
-        String result;
         String phoneNumber = smsVerificationRequest.getPhoneNumber();
         String code = smsVerificationRequest.getCode();
 
-        String redisCode = getVerificationCode(phoneNumber);
-        if(code.equals(redisCode)) {
-            result = "인증에 성공하셨습니다.";
-            deleteVerificationCode(phoneNumber);
-        } else {
-            result = "인증 번호가 일치하지 않습니다.";
+        Long result = redisTemplate.execute(VERIFY_SCRIPT,
+                List.of(PREFIX + phoneNumber, ATTEMPT_PREFIX + phoneNumber),
+                code == null ? "" : code,
+                String.valueOf(maxVerifyAttempts),
+                String.valueOf(verifyLockout.toSeconds()));
+
+        if (result != null && result == -1L) {
+            throw new SmsVerificationLockedException();
+        }
+        if (result != null && result == 1L) {
+            return "인증에 성공하셨습니다.";
         }
-        return result;
+        return "인증 번호가 일치하지 않습니다.";
     }
 }
@@ -0,0 +1,31 @@
+package com.zipple.common.utils;
+
+import com.zipple.common.exception.custom.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Component
+public class CursorUtil {
+
+    private static final String DELIMITER = ":";
+
+    public String encode(String sortKey, Long lastId) {
+        String raw = sortKey + DELIMITER + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long decode(String cursor, String expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            if (index < 0 || !raw.substring(0, index).equals(expectedSortKey)) {
+                throw new BadRequestException();
+            }
+            return Long.parseLong(raw.substring(index + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException();
+        }
+    }
+}
@@ -1,26 +1,95 @@
 package com.zipple.common.utils;
 
+import com.zipple.common.auth.jwt.JwtPrincipal;
 import com.zipple.common.exception.custom.UnauthorizedException;
 import com.zipple.module.member.common.entity.User;
 import com.zipple.module.member.common.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.Optional;
+
+/**
+ * 현재 로그인한 사용자를 조회한다.
+ * User 엔티티는 처음 요청될 때 한 번만 조회해 요청 속성에 보관하고, 같은 요청 안에서는 같은 인스턴스를 돌려준다.
+ * 호출하지 않으면 조회하지 않으므로, 사용자 정보가 필요 없는 공개 API 는 DB 조회 없이 끝난다.
+ */
 @Component
 @RequiredArgsConstructor
 public class GetMember {
 
+    private static final String CURRENT_MEMBER_ATTRIBUTE = GetMember.class.getName() + ".CURRENT_MEMBER";
+
     private final UserRepository userRepository;
 
     public User getCurrentMember() {
-        return userRepository
-                .findByEmail(
-                        SecurityContextHolder
-                                .getContext()
-                                .getAuthentication()
-                                .getName()
-                )
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(CURRENT_MEMBER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached) {
+            return cached;
+        }
+
+        User user = loadCurrentMember();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(CURRENT_MEMBER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    public Optional<Long> findCurrentMemberId() {
+        Authentication authentication = currentAuthentication();
+        if (authentication == null) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return Optional.of(principal.getUserId());
+        }
+        return userRepository.findIdByEmail(authentication.getName());
+    }
+
+    /**
+     * 현재 요청 토큰의 sid(로그인 세션 id). 세션 없이 발급된 토큰이면 비어 있다.
+     */
+    public Optional<String> findCurrentSessionId() {
+        return findCurrentPrincipal().map(JwtPrincipal::getSessionId);
+    }
+
+    /**
+     * 현재 요청을 인증한 토큰 정보(사용자 id, sid, jti, 만료 시각).
+     */
+    public Optional<JwtPrincipal> findCurrentPrincipal() {
+        if (currentAuthentication() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    private User loadCurrentMember() {
+        Authentication authentication = currentAuthentication();
+        if (authentication == null) {
+            throw new UnauthorizedException();
+        }
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return userRepository.findById(principal.getUserId())
+                    .orElseThrow(UnauthorizedException::new);
+        }
+        return userRepository.findByEmail(authentication.getName())
                 .orElseThrow(UnauthorizedException::new);
     }
-}
\ No newline at end of file
+
+    private Authentication currentAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication;
+    }
+}
@@ -0,0 +1,60 @@
+package com.zipple.common.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 조회를 노드 안에서 하나로 합친다.
+ * 먼저 들어온 요청만 loader 를 실행하고, 나머지는 같은 future 의 결과(또는 예외)를 기다린다.
+ * 대기 중에 DB 커넥션을 잡지 않도록 트랜잭션 바깥에서 호출해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, String key, Supplier<T> loader) {
+        String flightKey = name + ":" + key;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        if (existing != null) {
+            meterRegistry.counter("single-flight.coalesced", "name", name).increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
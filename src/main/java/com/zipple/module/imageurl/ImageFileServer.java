@@ -0,0 +1,171 @@
+package com.zipple.module.imageurl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * /zipple/** 이미지 파일을 내려준다.
+ * ETag / Last-Modified 로 조건부 요청(304)을, Range 헤더로 단일 구간 요청(206)을 처리한다.
+ * 업로드 시 UUID 로 이름 붙인 파일은 내용이 바뀌지 않으므로 immutable 로 오래 캐시하게 하고, 나머지(로고 등)는 매번 재검증하게 한다.
+ * 본문은 Tomcat 이 sendfile 을 지원하면 파일 경로만 넘겨 커널에서 바로 소켓으로 보내고(FileChannel.transferTo),
+ * 그렇지 않으면 스트림으로 복사한다. image.allowed-roots 밖의 경로는 404 로 응답한다.
+ */
+@Slf4j
+@Component
+public class ImageFileServer {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern UUID_NAMED = Pattern.compile(
+            "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}[._].*");
+
+    private final List<Path> allowedRoots;
+    private final boolean zeroCopyEnabled;
+    private final String immutableCacheControl;
+    private final String revalidateCacheControl = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    public ImageFileServer(@Value("${image.allowed-roots:/home/ubuntu/zipple}") String[] allowedRoots,
+                           @Value("${image.zero-copy:true}") boolean zeroCopyEnabled,
+                           @Value("${image.cache.immutable-max-age:365d}") Duration immutableMaxAge) {
+        this.allowedRoots = Arrays.stream(allowedRoots)
+                .map(root -> Paths.get(root.trim()).toAbsolutePath().normalize())
+                .toList();
+        this.zeroCopyEnabled = zeroCopyEnabled;
+        this.immutableCacheControl = CacheControl.maxAge(immutableMaxAge).cachePublic().immutable().getHeaderValue();
+    }
+
+    /**
+     * @param relativePath /zipple/ 뒤의 요청 경로 (URL 인코딩된 그대로)
+     */
+    public void serve(String relativePath, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = resolve(relativePath);
+        if (file == null || !Files.isRegularFile(file) || !Files.isReadable(file)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlOf(file));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        String contentType = request.getServletContext().getMimeType(file.toString());
+        response.setContentType(contentType == null ? "application/octet-stream" : contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(file.getFileName().toString(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag, lastModified);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (zeroCopyEnabled && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 본문을 쓰지 않고 파일 구간만 알려주면 요청이 끝난 뒤 Tomcat 이 sendfile 로 보낸다. end 는 배타적이다.
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (InputStream in = Files.newInputStream(file)) {
+            StreamUtils.copyRange(in, response.getOutputStream(), start, end);
+        }
+    }
+
+    /**
+     * Range 는 구간이 하나일 때만 처리한다. 여러 구간이거나 형식이 잘못되었거나 If-Range 가 현재 파일과 맞지 않으면 전체를 보낸다.
+     */
+    private HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag) && !sameSecond(request, lastModified)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("잘못된 Range 헤더: {}", rangeHeader);
+            return null;
+        }
+    }
+
+    private boolean sameSecond(HttpServletRequest request, long lastModified) {
+        try {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return ifRangeDate / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Path resolve(String relativePath) {
+        Path file;
+        try {
+            file = Paths.get(File.separator, UriUtils.decode(relativePath, StandardCharsets.UTF_8)).normalize();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return allowedRoots.stream().anyMatch(file::startsWith) ? file : null;
+    }
+
+    private String cacheControlOf(Path file) {
+        return UUID_NAMED.matcher(file.getFileName().toString()).matches() ? immutableCacheControl : revalidateCacheControl;
+    }
+}
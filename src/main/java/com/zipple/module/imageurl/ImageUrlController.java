@@ -2,49 +2,37 @@ package com.zipple.module.imageurl;
 
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 public class ImageUrlController {
 
+    private static final String IMAGE_PATH_PREFIX = "/zipple/";
+
+    private final ImageFileServer imageFileServer;
+
     @Hidden
     @GetMapping(value = "/zipple/**")
-    public ResponseEntity<Resource> viewImage(HttpServletRequest request) {
+    public void viewImage(HttpServletRequest request, HttpServletResponse response) {
+        String relativePath = request.getRequestURI().substring(IMAGE_PATH_PREFIX.length());
         try {
-            String requestUri = request.getRequestURI();
-
-            String relativePath = requestUri.substring("/zipple/".length());
-            Path filePath = Paths.get(File.separator, relativePath);
-
-            Resource resource = new FileSystemResource(filePath.toFile());
-
-            if (resource.exists() && resource.isReadable()) {
-                String contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-                if (contentType == null) {
-                    contentType = "application/octet-stream";
-                }
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
-                        .body(resource);
+            imageFileServer.serve(relativePath, request, response);
+        } catch (IOException ex) {
+            if (response.isCommitted()) {
+                // 대부분 클라이언트가 전송 도중 연결을 끊은 경우다.
+                log.debug("이미지 전송 중단 path={}: {}", relativePath, ex.getMessage());
             } else {
-                return ResponseEntity.notFound().build();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             }
-        } catch (IOException ex) {
-            return ResponseEntity.internalServerError().build();
         }
     }
 
@@ -0,0 +1,153 @@
+package com.zipple.module.like;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * write-behind 모드의 좋아요 상태. 중개사마다 좋아요한 사용자 집합과 좋아요 수를 Redis 에 두고,
+ * 변경은 스크립트 한 번으로 집합/카운터를 바꾸면서 {@link #STREAM_KEY} 에 이벤트를 남긴다.
+ * DB(agent_likes, agent_stats) 반영은 {@link LikeFlushWorker} 가 배치로 한다.
+ * <p>
+ * 중개사별 상태는 처음 변경될 때 DB 에서 한 번 적재하며, 적재되지 않은 중개사는 조회 시 DB 값을 쓴다.
+ * 반영되지 않은 이벤트가 남아 있을 수 있으므로 키에는 만료를 두지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikeCounterStore {
+
+    public enum Mode {
+        LIKE,
+        UNLIKE,
+        TOGGLE
+    }
+
+    public static final String STREAM_KEY = "like:events";
+
+    private static final RedisScript<Long> APPLY_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/like-apply.lua"), Long.class);
+    private static final RedisScript<Long> LOAD_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/like-load.lua"), Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * @return 변경 후 좋아요 여부. 중개사 상태가 아직 적재되지 않았으면 비어 있다.
+     */
+    public Optional<Boolean> apply(Long userId, Long agentId, Mode mode) {
+        Long result = redisTemplate.execute(APPLY_SCRIPT,
+                List.of(usersKey(agentId), countKey(agentId), loadedKey(agentId), STREAM_KEY),
+                String.valueOf(userId), mode.name(), String.valueOf(agentId));
+        if (result == null || result < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(result == 1L);
+    }
+
+    public void load(Long agentId, List<Long> likerIds) {
+        redisTemplate.execute(LOAD_SCRIPT,
+                List.of(usersKey(agentId), countKey(agentId), loadedKey(agentId)),
+                likerIds.stream().map(String::valueOf).toArray());
+    }
+
+    /**
+     * 적재된 중개사의 좋아요 수. 적재되지 않은 중개사는 결과에 없다.
+     */
+    public Map<Long, Long> getCounts(List<Long> agentIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (agentIds.isEmpty()) {
+            return counts;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(agentIds.stream().map(this::countKey).toList());
+        for (int i = 0; values != null && i < agentIds.size(); i++) {
+            if (values.get(i) != null) {
+                counts.put(agentIds.get(i), Long.parseLong(values.get(i)));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 적재된 중개사에 대한 viewer 의 좋아요 여부. 적재되지 않은 중개사는 결과에 없다. Redis 왕복은 한 번이다.
+     */
+    public Map<Long, Boolean> getLikedStates(Long viewerId, List<Long> agentIds) {
+        Map<Long, Boolean> states = new HashMap<>();
+        if (agentIds.isEmpty()) {
+            return states;
+        }
+        byte[] member = String.valueOf(viewerId).getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long agentId : agentIds) {
+                connection.keyCommands().exists(loadedKey(agentId).getBytes(StandardCharsets.UTF_8));
+                connection.setCommands().sIsMember(usersKey(agentId).getBytes(StandardCharsets.UTF_8), member);
+            }
+            return null;
+        });
+        for (int i = 0; i < agentIds.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i * 2))) {
+                states.put(agentIds.get(i), Boolean.TRUE.equals(results.get(i * 2 + 1)));
+            }
+        }
+        return states;
+    }
+
+    /**
+     * (사용자, 중개사) 쌍마다 지금 Redis 집합에 있는 좋아요 여부(SISMEMBER). 중개사 상태가 적재되지 않은 쌍은 결과에 없다.
+     * Redis 왕복은 한 번이다.
+     */
+    public Map<LikeKey, Boolean> getLikedStates(Collection<LikeKey> keys) {
+        Map<LikeKey, Boolean> states = new HashMap<>();
+        if (keys.isEmpty()) {
+            return states;
+        }
+        List<LikeKey> ordered = new ArrayList<>(keys);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (LikeKey key : ordered) {
+                connection.keyCommands().exists(loadedKey(key.agentId()).getBytes(StandardCharsets.UTF_8));
+                connection.setCommands().sIsMember(usersKey(key.agentId()).getBytes(StandardCharsets.UTF_8),
+                        String.valueOf(key.userId()).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        for (int i = 0; i < ordered.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i * 2))) {
+                states.put(ordered.get(i), Boolean.TRUE.equals(results.get(i * 2 + 1)));
+            }
+        }
+        return states;
+    }
+
+    /**
+     * 중개사 상태를 버린다. 다음 변경 때 DB 에서 다시 적재된다.
+     */
+    public void forget(Collection<Long> agentIds) {
+        if (agentIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        for (Long agentId : agentIds) {
+            keys.add(loadedKey(agentId));
+            keys.add(usersKey(agentId));
+            keys.add(countKey(agentId));
+        }
+        redisTemplate.delete(keys);
+    }
+
+    private String usersKey(Long agentId) {
+        return "like:agent:" + agentId + ":users";
+    }
+
+    private String countKey(Long agentId) {
+        return "like:agent:" + agentId + ":count";
+    }
+
+    private String loadedKey(Long agentId) {
+        return "like:agent:" + agentId + ":loaded";
+    }
+}
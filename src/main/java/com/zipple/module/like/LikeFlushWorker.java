@@ -0,0 +1,234 @@
+package com.zipple.module.like;
+
+import com.zipple.module.like.entity.AgentLikeBatchRepository;
+import com.zipple.module.like.entity.AgentLikeRepository;
+import com.zipple.module.like.entity.AgentLikeStateRow;
+import com.zipple.module.stats.entity.AgentStatsRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * {@link LikeCounterStore#STREAM_KEY} 의 좋아요 이벤트를 모아 agent_likes / agent_stats 에 반영한다.
+ * 이벤트는 어떤 (사용자, 중개사) 쌍이 바뀌었는지만 알려 주고, 쓸 상태는 반영 시점에 Redis 집합에서 읽는다(SISMEMBER).
+ * 그래서 실패했던 배치가 나중에 다시 처리되어 더 최근 배치보다 늦게 반영되어도 예전 상태로 되돌리지 않는다.
+ * 중개사 상태가 Redis 에 없으면(탈퇴 등으로 버려진 경우) 배치 안 마지막 이벤트의 상태를 쓴다.
+ * DB 의 현재 상태와 달라지는 행만 배치 upsert 하고, agent_stats 증감도 DB 상태 기준으로 계산하므로
+ * 커밋 후 ACK 전에 죽어 같은 이벤트가 다시 처리되어도 두 번 세지 않는다(at-least-once).
+ * 실패한 배치는 대기 목록(PEL)에 남았다가 min-idle 이 지나면 다시 처리되고,
+ * max-attempts 를 넘으면 {@link #DEAD_LETTER_KEY} 스트림으로 옮겨 두고 원래 스트림에서 지운다.
+ */
+@Slf4j
+@Component
+public class LikeFlushWorker {
+
+    private static final String GROUP = "like-flushers";
+    static final String DEAD_LETTER_KEY = "like:events:dead";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LikeCounterStore likeCounterStore;
+    private final AgentLikeRepository agentLikeRepository;
+    private final AgentLikeBatchRepository agentLikeBatchRepository;
+    private final AgentStatsRepository agentStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String consumerName = "like-" + UUID.randomUUID();
+
+    @Value("${like.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${like.write-behind.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${like.write-behind.min-idle:30s}")
+    private Duration minIdle;
+
+    public LikeFlushWorker(RedisTemplate<String, String> redisTemplate,
+                           LikeCounterStore likeCounterStore,
+                           AgentLikeRepository agentLikeRepository,
+                           AgentLikeBatchRepository agentLikeBatchRepository,
+                           AgentStatsRepository agentStatsRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.redisTemplate = redisTemplate;
+        this.likeCounterStore = likeCounterStore;
+        this.agentLikeRepository = agentLikeRepository;
+        this.agentLikeBatchRepository = agentLikeBatchRepository;
+        this.agentStatsRepository = agentStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void createGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                    .xGroupCreate(LikeCounterStore.STREAM_KEY.getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0"), true));
+        } catch (RedisSystemException e) {
+            // 이미 그룹이 있으면 BUSYGROUP 오류가 난다.
+            log.debug("좋아요 반영 컨슈머 그룹 생성 생략: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("좋아요 반영 컨슈머 그룹 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${like.write-behind.flush-interval:1000}")
+    public void flush() {
+        try {
+            retryPending();
+
+            List<MapRecord<String, Object, Object>> records;
+            do {
+                records = redisTemplate.opsForStream().read(
+                        Consumer.from(GROUP, consumerName),
+                        StreamReadOptions.empty().count(batchSize),
+                        StreamOffset.create(LikeCounterStore.STREAM_KEY, ReadOffset.lastConsumed()));
+                if (records == null || records.isEmpty()) {
+                    return;
+                }
+            } while (apply(records) && records.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("좋아요 이벤트 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private void retryPending() {
+        PendingMessages pending = redisTemplate.opsForStream()
+                .pending(LikeCounterStore.STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+        List<RecordId> retryIds = new ArrayList<>();
+        List<RecordId> deadIds = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                continue;
+            }
+            if (message.getTotalDeliveryCount() >= maxAttempts) {
+                deadIds.add(message.getId());
+                continue;
+            }
+            retryIds.add(message.getId());
+        }
+        if (!deadIds.isEmpty()) {
+            deadLetter(deadIds);
+        }
+        if (retryIds.isEmpty()) {
+            return;
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream()
+                .claim(LikeCounterStore.STREAM_KEY, GROUP, consumerName, minIdle, retryIds.toArray(RecordId[]::new));
+        apply(claimed);
+    }
+
+    /**
+     * 재시도 한도를 넘은 이벤트를 원래 id 와 함께 {@link #DEAD_LETTER_KEY} 에 옮기고 원래 스트림에서 지운다.
+     * 옮긴 이벤트는 원인을 고친 뒤 다시 넣거나 확인 후 지운다.
+     */
+    private void deadLetter(List<RecordId> ids) {
+        RecordId[] idArray = ids.toArray(RecordId[]::new);
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream()
+                .claim(LikeCounterStore.STREAM_KEY, GROUP, consumerName, minIdle, idArray);
+        for (MapRecord<String, Object, Object> record : claimed) {
+            Map<Object, Object> value = new LinkedHashMap<>(record.getValue());
+            value.put("sourceId", record.getId().getValue());
+            redisTemplate.opsForStream().add(StreamRecords.newRecord().in(DEAD_LETTER_KEY).ofMap(value));
+        }
+        log.error("좋아요 이벤트 {}건을 {}회 실패 후 {} 로 옮김 ids={}", claimed.size(), maxAttempts, DEAD_LETTER_KEY, ids);
+        acknowledge(idArray);
+    }
+
+    private boolean apply(List<MapRecord<String, Object, Object>> records) {
+        if (records.isEmpty()) {
+            return true;
+        }
+
+        // 스트림 순서대로 덮어써 (사용자, 중개사)별 마지막 이벤트 상태만 남긴다.
+        Map<LikeKey, Boolean> latest = new LinkedHashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> value = record.getValue();
+            try {
+                LikeKey key = new LikeKey(
+                        Long.parseLong(String.valueOf(value.get("userId"))),
+                        Long.parseLong(String.valueOf(value.get("agentId"))));
+                latest.put(key, "1".equals(String.valueOf(value.get("liked"))));
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 좋아요 이벤트 id={}: {}", record.getId(), value);
+            }
+        }
+
+        try {
+            // 이벤트 순서와 상관없이 지금 Redis 에 있는 상태를 쓴다.
+            Map<LikeKey, Boolean> current = likeCounterStore.getLikedStates(latest.keySet());
+            latest.replaceAll((key, liked) -> current.getOrDefault(key, liked));
+            transactionTemplate.executeWithoutResult(status -> write(latest));
+        } catch (RuntimeException e) {
+            log.warn("좋아요 {}건 DB 반영 실패, 재시도 예정: {}", latest.size(), e.getMessage());
+            return false;
+        }
+
+        acknowledge(records.stream().map(MapRecord::getId).toArray(RecordId[]::new));
+        return true;
+    }
+
+    private void write(Map<LikeKey, Boolean> latest) {
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> agentIds = new HashSet<>();
+        latest.keySet().forEach(key -> {
+            userIds.add(key.userId());
+            agentIds.add(key.agentId());
+        });
+
+        Map<LikeKey, Boolean> current = new HashMap<>();
+        for (AgentLikeStateRow row : agentLikeRepository.findStates(userIds, agentIds)) {
+            current.put(new LikeKey(row.getUserId(), row.getAgentId()), !row.isDeleted());
+        }
+
+        List<AgentLikeStateRow> changes = new ArrayList<>();
+        latest.forEach((key, liked) -> {
+            if (!current.getOrDefault(key, false).equals(liked)) {
+                changes.add(new AgentLikeStateRow(key.userId(), key.agentId(), !liked));
+            }
+        });
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        int[] counts = agentLikeBatchRepository.upsertStates(changes);
+        Map<Long, Long> likeDeltas = new HashMap<>();
+        for (int i = 0; i < changes.size(); i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            AgentLikeStateRow change = changes.get(i);
+            likeDeltas.merge(change.getAgentId(), change.isDeleted() ? -1L : 1L, Long::sum);
+        }
+        likeDeltas.forEach((agentId, delta) -> {
+            if (delta != 0) {
+                agentStatsRepository.applyDelta(agentId, 0, 0, delta, 0);
+            }
+        });
+        log.debug("좋아요 {}건 반영, 중개사 {}명", changes.size(), likeDeltas.size());
+    }
+
+    private void acknowledge(RecordId[] ids) {
+        byte[] streamKey = LikeCounterStore.STREAM_KEY.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.streamCommands().xAck(streamKey, GROUP, ids);
+            connection.streamCommands().xDel(streamKey, ids);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.zipple.module.like;
+
+/**
+ * 좋아요 한 건을 가리키는 (사용자, 중개사) 쌍.
+ */
+public record LikeKey(Long userId, Long agentId) {
+}
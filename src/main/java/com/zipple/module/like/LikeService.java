@@ -1,88 +1,155 @@
 package com.zipple.module.like;
 
+import com.zipple.common.exception.custom.RequestTooFastException;
+import com.zipple.common.exception.custom.UnauthorizedException;
 import com.zipple.common.utils.AgentIdBase64Util;
 import com.zipple.common.utils.GetMember;
-import com.zipple.module.like.entity.AgentLike;
 import com.zipple.module.like.entity.AgentLikeRepository;
-import com.zipple.module.member.common.entity.AgentUser;
-import com.zipple.module.member.common.entity.User;
+import com.zipple.module.mainpage.cache.AgentProfileCache;
 import com.zipple.module.member.common.repository.AgentUserRepository;
+import com.zipple.module.stats.AgentStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class LikeService {
 
+    private static final int MAX_LOCK_ATTEMPTS = 5;
+
     private final GetMember getMember;
     private final AgentLikeRepository agentLikeRepository;
     private final AgentUserRepository agentUserRepository;
     private final AgentIdBase64Util agentIdBase64Util;
+    private final AgentStatsService agentStatsService;
+    private final AgentProfileCache agentProfileCache;
+    private final LikeCounterStore likeCounterStore;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 켜져 있으면 좋아요 변경을 Redis 에만 바로 반영하고 DB 는 {@link LikeFlushWorker} 가 나중에 배치로 반영한다.
+     */
+    @Value("${like.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
 
-    @Transactional
     public void likeAgent(String agentUserId) {
-        User user = getMember.getCurrentMember();
-        Long agentId = agentIdBase64Util.decodeLong(agentUserId);
-        AgentUser agentUser = agentUserRepository.findById(agentId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 중개사입니다."));
-
-        AgentLike checkAgentLike = agentLikeRepository.findByUserAndAgentUser(user, agentUser);
-        if (checkAgentLike == null) {
-            AgentLike agentLike = AgentLike.builder()
-                    .agentUser(agentUser)
-                    .user(user)
-                    .isDeleted(false)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-            agentLikeRepository.save(agentLike);
-        } else {
-            checkAgentLike.setDeleted(false);
-            agentLikeRepository.save(checkAgentLike);
+        if (writeBehindEnabled) {
+            applyWriteBehind(agentUserId, LikeCounterStore.Mode.LIKE);
+            return;
         }
+        like(currentMemberId(), agentIdBase64Util.decodeLong(agentUserId));
     }
 
-    @Transactional
     public void unlikeAgent(String agentUserId) {
-        User user = getMember.getCurrentMember();
-        Long agentId = agentIdBase64Util.decodeLong(agentUserId);
-        AgentUser agentUser = agentUserRepository.findById(agentId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 중개사입니다."));
-
-        AgentLike agentLike = agentLikeRepository.findByUserAndAgentUser(user, agentUser);
-        agentLike.setDeleted(true);
-        agentLikeRepository.save(agentLike);
+        if (writeBehindEnabled) {
+            applyWriteBehind(agentUserId, LikeCounterStore.Mode.UNLIKE);
+            return;
+        }
+        unlike(currentMemberId(), agentIdBase64Util.decodeLong(agentUserId));
     }
 
-    @Transactional
     public void onceLikeAgent(String agentUserId) {
-        User user = getMember.getCurrentMember();
+        if (writeBehindEnabled) {
+            applyWriteBehind(agentUserId, LikeCounterStore.Mode.TOGGLE);
+            return;
+        }
+        toggle(currentMemberId(), agentIdBase64Util.decodeLong(agentUserId));
+    }
+
+    /**
+     * Redis 스크립트 한 번으로 처리하며 DB 는 조회하지 않는다. 중개사 상태가 아직 적재되지 않았을 때만 DB 에서 한 번 적재한다.
+     */
+    private void applyWriteBehind(String agentUserId, LikeCounterStore.Mode mode) {
+        Long userId = currentMemberId();
         Long agentId = agentIdBase64Util.decodeLong(agentUserId);
-        AgentUser agentUser = agentUserRepository.findById(agentId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 중개사입니다."));
-
-        AgentLike checkAgentLike = agentLikeRepository.findByUserAndAgentUser(user, agentUser);
-        if (checkAgentLike == null) {
-            AgentLike agentLike = AgentLike.builder()
-                    .agentUser(agentUser)
-                    .user(user)
-                    .isDeleted(false)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-            agentLikeRepository.save(agentLike);
+
+        if (likeCounterStore.apply(userId, agentId, mode).isPresent()) {
+            return;
+        }
+
+        if (!agentUserRepository.existsById(agentId)) {
+            throw new IllegalArgumentException("존재하지 않는 중개사입니다.");
+        }
+        likeCounterStore.load(agentId, agentLikeRepository.findLikerIdsByAgentId(agentId));
+        likeCounterStore.apply(userId, agentId, mode)
+                .orElseThrow(() -> new IllegalStateException("좋아요 상태 적재 실패"));
+    }
+
+    /**
+     * @return 변경 후 좋아요 여부
+     */
+    public boolean like(Long userId, Long agentId) {
+        return withLockRetry(() -> {
+            boolean changed = agentLikeRepository.reactivate(userId, agentId) == 1
+                    || agentLikeRepository.insertIfAbsent(userId, agentId) == 1;
+            if (changed) {
+                likeChanged(agentId, true);
+            } else if (!agentUserRepository.existsById(agentId)) {
+                throw new IllegalArgumentException("존재하지 않는 중개사입니다.");
+            }
+            return true;
+        });
+    }
+
+    public boolean unlike(Long userId, Long agentId) {
+        return withLockRetry(() -> {
+            if (agentLikeRepository.deactivate(userId, agentId) == 1) {
+                likeChanged(agentId, false);
+            }
+            return false;
+        });
+    }
+
+    /**
+     * 좋아요 상태를 뒤집는다. 행이 없으면 좋아요로 넣는다.
+     */
+    public boolean toggle(Long userId, Long agentId) {
+        return withLockRetry(() -> {
+            if (agentLikeRepository.deactivate(userId, agentId) == 1) {
+                likeChanged(agentId, false);
+                return false;
+            }
+            // 위 UPDATE 가 행을 잠그므로 아래 두 문장 사이에 다른 요청이 상태를 바꿀 수 없다.
+            if (agentLikeRepository.reactivate(userId, agentId) == 1
+                    || agentLikeRepository.insertIfAbsent(userId, agentId) == 1) {
+                likeChanged(agentId, true);
+                return true;
+            }
+            throw new IllegalArgumentException("존재하지 않는 중개사입니다.");
+        });
+    }
+
+    private void likeChanged(Long agentId, boolean liked) {
+        if (liked) {
+            agentStatsService.likeAdded(agentId);
         } else {
-            if(checkAgentLike.isDeleted()) {
-                checkAgentLike.setDeleted(false);
-                agentLikeRepository.save(checkAgentLike);
-            } else {
-                checkAgentLike.setDeleted(true);
-                agentLikeRepository.save(checkAgentLike);
+            agentStatsService.likeRemoved(agentId);
+        }
+        agentProfileCache.evict(agentId);
+    }
+
+    /**
+     * 처음 좋아요를 누르는 요청이 동시에 들어오면 빈 구간 잠금끼리 교착될 수 있다. DB 가 한쪽을 롤백하면 다시 시도한다.
+     */
+    private boolean withLockRetry(Supplier<Boolean> change) {
+        for (int attempt = 1; attempt <= MAX_LOCK_ATTEMPTS; attempt++) {
+            try {
+                return Boolean.TRUE.equals(transactionTemplate.execute(status -> change.get()));
+            } catch (PessimisticLockingFailureException e) {
+                log.debug("좋아요 변경 잠금 충돌, 재시도 {}/{}", attempt, MAX_LOCK_ATTEMPTS);
             }
         }
+        throw new RequestTooFastException();
+    }
+
+    private Long currentMemberId() {
+        return getMember.findCurrentMemberId().orElseThrow(UnauthorizedException::new);
     }
 }
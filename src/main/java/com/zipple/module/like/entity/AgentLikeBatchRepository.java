@@ -0,0 +1,40 @@
+package com.zipple.module.like.entity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 좋아요 상태를 JDBC 배치 한 번으로 반영한다.
+ * 행이 없으면 넣고 있으면 is_deleted 만 바꾼다. 그 사이 탈퇴한 사용자/중개사의 행은 넣지 않는다(반영 건수 0).
+ */
+@Repository
+@RequiredArgsConstructor
+public class AgentLikeBatchRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO agent_likes (user_id, agent_id, created_at, is_deleted, version) " +
+            "SELECT ?, ?, NOW(), ?, 0 FROM DUAL " +
+            "WHERE EXISTS (SELECT 1 FROM users WHERE id = ?) " +
+            "AND EXISTS (SELECT 1 FROM agent_users WHERE id = ?) " +
+            "ON DUPLICATE KEY UPDATE is_deleted = VALUES(is_deleted), version = version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return 행별 반영 건수. 0 이면 반영되지 않은 행이다.
+     */
+    public int[] upsertStates(List<AgentLikeStateRow> states) {
+        return jdbcTemplate.batchUpdate(UPSERT_SQL, states.stream()
+                .map(state -> new Object[]{
+                        state.getUserId(),
+                        state.getAgentId(),
+                        state.isDeleted(),
+                        state.getUserId(),
+                        state.getAgentId()
+                })
+                .toList());
+    }
+}
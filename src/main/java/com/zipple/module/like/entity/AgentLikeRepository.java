@@ -1,13 +1,18 @@
 package com.zipple.module.like.entity;
 
+import com.zipple.module.mainpage.domain.AgentCountRow;
 import com.zipple.module.member.common.entity.AgentUser;
 import com.zipple.module.member.common.entity.User;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface AgentLikeRepository extends JpaRepository<AgentLike, Long> {
 
     @Query("SELECT COUNT(l) FROM AgentLike l WHERE l.agentUser.id = :agentUserId")
@@ -25,4 +30,54 @@ public interface AgentLikeRepository extends JpaRepository<AgentLike, Long> {
 
     @Query("SELECT COUNT(al) FROM AgentLike al WHERE al.agentUser.id = :agentUserId AND al.isDeleted = :isDeleted")
     Integer countByAgentUserId(@Param("agentUserId") Long agentUserId, @Param("isDeleted") boolean isDeleted);
+
+    @Query("SELECT new com.zipple.module.mainpage.domain.AgentCountRow(al.agentUser.id, COUNT(al)) " +
+            "FROM AgentLike al WHERE al.agentUser.id IN :agentIds AND al.isDeleted = false GROUP BY al.agentUser.id")
+    List<AgentCountRow> countGroupByAgentUserIdIn(@Param("agentIds") Collection<Long> agentIds);
+
+    @Query("SELECT al.agentUser.id FROM AgentLike al " +
+            "WHERE al.user.id = :viewerId AND al.agentUser.id IN :agentIds AND al.isDeleted = false")
+    List<Long> findLikedAgentIds(@Param("viewerId") Long viewerId, @Param("agentIds") Collection<Long> agentIds);
+
+    @Query("SELECT new com.zipple.module.like.entity.AgentLikeStateRow(al.user.id, al.agentUser.id, al.isDeleted) " +
+            "FROM AgentLike al WHERE al.user.id IN :userIds AND al.agentUser.id IN :agentIds")
+    List<AgentLikeStateRow> findStates(@Param("userIds") Collection<Long> userIds, @Param("agentIds") Collection<Long> agentIds);
+
+    @Query("SELECT al.user.id FROM AgentLike al WHERE al.agentUser.id = :agentId AND al.isDeleted = false")
+    List<Long> findLikerIdsByAgentId(@Param("agentId") Long agentId);
+
+    @Query("SELECT al.agentUser.id FROM AgentLike al WHERE al.user.id = :userId")
+    List<Long> findAgentIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.zipple.module.mainpage.domain.AgentCountRow(al.agentUser.id, COUNT(al)) " +
+            "FROM AgentLike al WHERE al.user.id = :userId AND al.isDeleted = false GROUP BY al.agentUser.id")
+    List<AgentCountRow> countActiveGroupByAgentUserIdForUser(@Param("userId") Long userId);
+
+    /**
+     * 취소된 좋아요를 되살린다. 상태가 바뀐 경우에만 1 을 돌려준다.
+     */
+    @Modifying
+    @Query(value = "UPDATE agent_likes SET is_deleted = FALSE, version = version + 1 " +
+            "WHERE user_id = :userId AND agent_id = :agentId AND is_deleted = TRUE",
+            nativeQuery = true)
+    int reactivate(@Param("userId") Long userId, @Param("agentId") Long agentId);
+
+    /**
+     * 좋아요를 취소한다. 상태가 바뀐 경우에만 1 을 돌려준다.
+     */
+    @Modifying
+    @Query(value = "UPDATE agent_likes SET is_deleted = TRUE, version = version + 1 " +
+            "WHERE user_id = :userId AND agent_id = :agentId AND is_deleted = FALSE",
+            nativeQuery = true)
+    int deactivate(@Param("userId") Long userId, @Param("agentId") Long agentId);
+
+    /**
+     * 좋아요 행이 없을 때만 넣는다. 이미 있거나 중개사가 없으면 0 이다.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO agent_likes (user_id, agent_id, created_at, is_deleted, version) " +
+            "SELECT :userId, :agentId, NOW(), FALSE, 0 FROM DUAL " +
+            "WHERE EXISTS (SELECT 1 FROM agent_users WHERE id = :agentId)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("agentId") Long agentId);
 }
@@ -0,0 +1,12 @@
+package com.zipple.module.like.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AgentLikeStateRow {
+    private Long userId;
+    private Long agentId;
+    private boolean deleted;
+}
@@ -0,0 +1,178 @@
+package com.zipple.module.mainpage;
+
+import com.zipple.module.mainpage.domain.DetailProfileResponse;
+import com.zipple.module.member.common.entity.AgentUser;
+import com.zipple.module.member.common.entity.User;
+import com.zipple.module.member.common.entity.category.AgentSpecialty;
+import com.zipple.module.member.common.entity.category.AgentType;
+import com.zipple.module.member.common.repository.AgentUserRepository;
+import com.zipple.module.mypage.agent.portfolio.PortfolioRepository;
+import com.zipple.module.mypage.agent.portfolio.domain.PortfolioCardRow;
+import com.zipple.module.mypage.agent.portfolio.domain.PortfolioProfile;
+import com.zipple.module.review.domain.ReviewResponse;
+import com.zipple.module.review.entity.ReviewRepository;
+import com.zipple.module.stats.entity.AgentStats;
+import com.zipple.module.stats.entity.AgentStatsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 중개사 상세 프로필을 구성하는 네 개의 하위 쿼리(중개사, 포트폴리오, 리뷰, 통계)를 실행해 합친다.
+ * agent-detail.parallel.enabled 가 켜져 있으면 하위 쿼리를 agentDetailExecutor 에서 동시에 실행하고,
+ * 각 쿼리는 자기 읽기 전용 트랜잭션(커넥션)을 쓴다. 꺼져 있으면 하나의 읽기 전용 트랜잭션에서 순서대로 실행한다.
+ * 하위 쿼리별 소요 시간은 agent.detail.query{query=...} 로 기록한다.
+ */
+@Component
+public class AgentDetailProfileReader {
+
+    private static final int PROFILE_PORTFOLIO_SIZE = 6;
+    private static final int PROFILE_REVIEW_SIZE = 6;
+
+    private final AgentUserRepository agentUserRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final ReviewRepository reviewRepository;
+    private final AgentStatsRepository agentStatsRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor agentDetailExecutor;
+    private final MeterRegistry meterRegistry;
+    private final boolean parallelEnabled;
+
+    public AgentDetailProfileReader(AgentUserRepository agentUserRepository,
+                                    PortfolioRepository portfolioRepository,
+                                    ReviewRepository reviewRepository,
+                                    AgentStatsRepository agentStatsRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("agentDetailExecutor") Executor agentDetailExecutor,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${agent-detail.parallel.enabled:false}") boolean parallelEnabled) {
+        this.agentUserRepository = agentUserRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.reviewRepository = reviewRepository;
+        this.agentStatsRepository = agentStatsRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.agentDetailExecutor = agentDetailExecutor;
+        this.meterRegistry = meterRegistry;
+        this.parallelEnabled = parallelEnabled;
+    }
+
+    public DetailProfileResponse read(Long userId) {
+        if (parallelEnabled) {
+            return readParallel(userId);
+        }
+        return readOnlyTransaction.execute(status ->
+                merge(loadAgent(userId), loadPortfolios(userId), loadReviews(userId), loadStats(userId)));
+    }
+
+    private DetailProfileResponse readParallel(Long userId) {
+        CompletableFuture<DetailProfileResponse> agent = CompletableFuture.supplyAsync(() -> loadAgent(userId), agentDetailExecutor);
+        CompletableFuture<List<PortfolioProfile>> portfolios = CompletableFuture.supplyAsync(() -> loadPortfolios(userId), agentDetailExecutor);
+        CompletableFuture<List<ReviewResponse>> reviews = CompletableFuture.supplyAsync(() -> loadReviews(userId), agentDetailExecutor);
+        CompletableFuture<Optional<AgentStats>> stats = CompletableFuture.supplyAsync(() -> loadStats(userId), agentDetailExecutor);
+
+        try {
+            CompletableFuture.allOf(agent, portfolios, reviews, stats).join();
+            return merge(agent.join(), portfolios.join(), reviews.join(), stats.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private DetailProfileResponse merge(DetailProfileResponse profile,
+                                        List<PortfolioProfile> portfolios,
+                                        List<ReviewResponse> reviews,
+                                        Optional<AgentStats> agentStats) {
+        profile.setPortfolios(portfolios);
+        profile.setReviews(reviews);
+        profile.setStarRating(agentStats.map(AgentStats::getAverageStarCount).orElse(0.0));
+        profile.setReviewTotalCount(agentStats.map(stats -> stats.getReviewCount().intValue()).orElse(0));
+        return profile;
+    }
+
+    private DetailProfileResponse loadAgent(Long userId) {
+        return timed("agent", () -> {
+            AgentUser agentUser = agentUserRepository.findById(userId)
+                    .orElseThrow(EntityNotFoundException::new);
+            User user = agentUser.getUser();
+
+            return DetailProfileResponse.builder()
+                    .email(user.getEmail())
+                    .profileUrl(Optional.ofNullable(user.getProfile_image_url()).orElse(""))
+                    .title(user.getNickname())
+                    .externalLink(Optional.ofNullable(agentUser.getExternalLink()).orElse(""))
+                    .agentName(agentUser.getAgentName())
+                    .agentType(AgentType.getDescriptionByAgentType(agentUser.getAgentType()))
+                    .landLineNumber(agentUser.getPrimaryContactNumber())
+                    .businessName(agentUser.getBusinessName())
+                    .agentSpecialty(AgentSpecialty.getDescriptionByAgentSpecialty(agentUser.getAgentSpecialty()))
+                    .agentRegistrationNumber(agentUser.getAgentRegistrationNumber())
+                    .ownerName(agentUser.getOwnerName())
+                    .ownerContactNumber(agentUser.getOwnerContactNumber())
+                    .officeAddress(agentUser.getOfficeAddress())
+                    .build();
+        });
+    }
+
+    private List<PortfolioProfile> loadPortfolios(Long userId) {
+        return timed("portfolios", () -> {
+            List<PortfolioCardRow> portfolios = portfolioRepository.findCardsByUserId(userId, PageRequest.of(0, PROFILE_PORTFOLIO_SIZE));
+
+            return portfolios.stream()
+                    .map(portfolio -> PortfolioProfile.builder()
+                            .portfolioId(portfolio.getPortfolioId())
+                            .title(portfolio.getTitle())
+                            .createdAt(portfolio.getCreatedAt().toString())
+                            .portfolioImage(Optional.ofNullable(portfolio.getMainImageUrl()).orElse(""))
+                            .build())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private List<ReviewResponse> loadReviews(Long userId) {
+        return timed("reviews", () -> {
+            List<ReviewResponse> reviews = reviewRepository.findRecentResponsesByAgentId(userId, PageRequest.of(0, PROFILE_REVIEW_SIZE));
+
+            reviews.forEach(review -> {
+                review.setProfileUrl(Optional.ofNullable(review.getProfileUrl()).orElse(""));
+                review.setNickname(Optional.ofNullable(review.getNickname()).orElse(""));
+                review.setContent(Optional.ofNullable(review.getContent()).orElse(""));
+            });
+            return reviews;
+        });
+    }
+
+    private Optional<AgentStats> loadStats(Long userId) {
+        return timed("stats", () -> agentStatsRepository.findById(userId));
+    }
+
+    /**
+     * 하위 쿼리 하나를 읽기 전용 트랜잭션 안에서 실행하고 소요 시간을 기록한다.
+     * 순차 모드에서는 바깥 트랜잭션에 참여하고, 병렬 모드에서는 작업 스레드마다 새 트랜잭션을 연다.
+     */
+    private <T> T timed(String query, Supplier<T> supplier) {
+        Timer timer = Timer.builder("agent.detail.query")
+                .description("중개사 상세 프로필 하위 쿼리 소요 시간")
+                .tag("query", query)
+                .tag("mode", parallelEnabled ? "parallel" : "sequential")
+                .register(meterRegistry);
+        return timer.record(() -> readOnlyTransaction.execute(status -> supplier.get()));
+    }
+}
@@ -0,0 +1,122 @@
+package com.zipple.module.mainpage;
+
+import com.zipple.common.utils.AgentIdBase64Util;
+import com.zipple.module.like.LikeCounterStore;
+import com.zipple.module.like.entity.AgentLikeRepository;
+import com.zipple.module.mainpage.cache.AgentProfileCache;
+import com.zipple.module.mainpage.domain.AgentCardRow;
+import com.zipple.module.mainpage.domain.AgentMatchingResponse;
+import com.zipple.module.member.common.entity.category.AgentSpecialty;
+import com.zipple.module.member.common.repository.AgentUserRepository;
+import com.zipple.module.stats.entity.AgentStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 중개사 카드 목록을 페이지 크기와 무관하게 고정된 개수의 쿼리로 조립한다.
+ * 카드는 캐시에서 먼저 찾고, 없는 카드만 agent_stats 와 함께 한 번의 쿼리로 읽는다.
+ * 로그인한 사용자의 좋아요 여부는 한 번의 쿼리로 조회하고, 비로그인이면 조회하지 않는다.
+ * 트랜잭션을 따로 열지 않으므로 DB 커넥션은 캐시에 없는 카드와 좋아요 여부를 읽는 리포지토리 호출 동안에만 잡는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AgentMatchingAssembler {
+
+    private final AgentUserRepository agentUserRepository;
+    private final AgentLikeRepository agentLikeRepository;
+    private final AgentIdBase64Util agentIdBase64Util;
+    private final AgentProfileCache agentProfileCache;
+    private final LikeCounterStore likeCounterStore;
+
+    @Value("${like.write-behind.enabled:false}")
+    private boolean likeWriteBehindEnabled;
+
+    public List<AgentMatchingResponse> assemble(List<Long> agentIds, Long viewerId) {
+        if (agentIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, AgentMatchingResponse> cards = agentProfileCache.getCards(agentIds);
+        List<Long> missingIds = agentIds.stream()
+                .filter(agentId -> !cards.containsKey(agentId))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            Map<Long, AgentMatchingResponse> loaded = loadCards(missingIds);
+            agentProfileCache.putCards(loaded);
+            cards.putAll(loaded);
+        }
+
+        Set<Long> likedAgentIds = viewerId == null ? Set.of() : findLikedAgentIds(viewerId, agentIds);
+        Map<Long, Long> likeCounts = likeWriteBehindEnabled ? likeCounterStore.getCounts(agentIds) : Map.of();
+
+        List<AgentMatchingResponse> matchingList = new ArrayList<>();
+        for (Long agentId : agentIds) {
+            AgentMatchingResponse card = cards.get(agentId);
+            if (card == null) {
+                continue;
+            }
+            card.setLiked(likedAgentIds.contains(agentId));
+            if (likeCounts.containsKey(agentId)) {
+                card.setLikeCount(toInt(likeCounts.get(agentId)));
+            }
+            matchingList.add(card);
+        }
+        return matchingList;
+    }
+
+    /**
+     * write-behind 모드에서는 Redis 에 적재된 중개사의 좋아요 여부를 Redis 에서 읽고, 나머지만 DB 에서 읽는다.
+     */
+    private Set<Long> findLikedAgentIds(Long viewerId, List<Long> agentIds) {
+        if (!likeWriteBehindEnabled) {
+            return new HashSet<>(agentLikeRepository.findLikedAgentIds(viewerId, agentIds));
+        }
+
+        Map<Long, Boolean> states = likeCounterStore.getLikedStates(viewerId, agentIds);
+        Set<Long> likedAgentIds = new HashSet<>();
+        states.forEach((agentId, liked) -> {
+            if (liked) {
+                likedAgentIds.add(agentId);
+            }
+        });
+        List<Long> unloadedIds = agentIds.stream()
+                .filter(agentId -> !states.containsKey(agentId))
+                .toList();
+        if (!unloadedIds.isEmpty()) {
+            likedAgentIds.addAll(agentLikeRepository.findLikedAgentIds(viewerId, unloadedIds));
+        }
+        return likedAgentIds;
+    }
+
+    private Map<Long, AgentMatchingResponse> loadCards(List<Long> agentIds) {
+        Map<Long, AgentMatchingResponse> cards = new HashMap<>();
+        for (AgentCardRow card : agentUserRepository.findCardRowsByIdIn(agentIds)) {
+            cards.put(card.getAgentId(), AgentMatchingResponse.builder()
+                    .agentId(agentIdBase64Util.encodeLong(card.getAgentId()))
+                    .profileUrl(card.getProfileUrl())
+                    .agentSpecialty(AgentSpecialty.getDescriptionByAgentSpecialty(card.getAgentSpecialty()))
+                    .portfolioCount(toInt(card.getPortfolioCount()))
+                    .agentName(card.getAgentName())
+                    .title(card.getTitle())
+                    .starRating(AgentStats.averageOf(card.getStarSum(), card.getReviewCount()))
+                    .businessName(card.getBusinessName())
+                    .likeCount(toInt(card.getLikeCount()))
+                    .reviewCount(toInt(card.getReviewCount()))
+                    .singleHouseholdExpert(card.getSingleHouseholdExpert())
+                    .build());
+        }
+        return cards;
+    }
+
+    private int toInt(Long count) {
+        return count == null ? 0 : count.intValue();
+    }
+}
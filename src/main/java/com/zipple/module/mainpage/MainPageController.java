@@ -1,5 +1,6 @@
 package com.zipple.module.mainpage;
 
+import com.zipple.module.mainpage.domain.AgentMatchingResponse;
 import com.zipple.module.mainpage.domain.DetailPortfolioResponse;
 import com.zipple.module.mainpage.domain.DetailProfileResponse;
 import com.zipple.module.mainpage.domain.MatchingResponse;
@@ -17,6 +18,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "메인 화면")
 @RestController
 @RequestMapping(value = "/api/v1/main")
@@ -54,6 +57,30 @@ public class MainPageController {
         return ResponseEntity.ok(matchingResponse);
     }
 
+    @Operation(summary = "공인 중개사 매칭 커서 조회", description = "마지막으로 받은 nextCursor 를 넘겨 다음 목록을 조회합니다. 첫 조회는 cursor 없이 요청합니다.")
+    @GetMapping(value = "/matching/category/cursor")
+    public ResponseEntity<MatchingResponse> getAgentMatchingCategoryByCursor(
+            @Parameter(name = "category", description = "공인 중개사 카테고리")
+            @RequestParam(value = "category", required = false) String category,
+            @Parameter(name = "cursor", description = "이전 응답의 nextCursor")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(name = "size", description = "페이지 크기", example = "9")
+            @RequestParam(value = "size", defaultValue = "9") Integer size
+    ) {
+        MatchingResponse matchingResponse = mainPageService.getMatchingCategoryByCursor(category, cursor, size);
+        return ResponseEntity.ok(matchingResponse);
+    }
+
+    @Operation(summary = "공인 중개사 카드 일괄 조회", description = "찜 목록, 최근 본 중개사처럼 여러 중개사의 카드를 요청한 순서대로 한 번에 조회합니다.")
+    @GetMapping(value = "/agents")
+    public ResponseEntity<List<AgentMatchingResponse>> getAgentCards(
+            @Parameter(name = "ids", description = "중개사 아이디 목록 (쉼표로 구분)")
+            @RequestParam(value = "ids") List<String> ids
+    ) {
+        List<AgentMatchingResponse> cards = mainPageService.getAgentCards(ids);
+        return ResponseEntity.ok(cards);
+    }
+
     @Operation(summary = "공인 중개사 상세 프로필")
     @GetMapping(value = "/profile/detail/{agentId}")
     public ResponseEntity<DetailProfileResponse> getAgentDetailProfile(
@@ -1,35 +1,36 @@
 package com.zipple.module.mainpage;
 
 import com.zipple.common.utils.AgentIdBase64Util;
-import com.zipple.module.like.entity.AgentLikeRepository;
+import com.zipple.common.utils.CursorUtil;
+import com.zipple.common.utils.GetMember;
+import com.zipple.common.utils.SingleFlight;
+import com.zipple.module.mainpage.cache.AgentProfileCache;
 import com.zipple.module.mainpage.domain.*;
 import com.zipple.module.member.common.entity.AgentUser;
-import com.zipple.module.member.common.entity.User;
 import com.zipple.module.member.common.entity.category.AgentSpecialty;
 import com.zipple.module.member.common.entity.category.AgentType;
 import com.zipple.module.member.common.repository.AgentUserRepository;
 import com.zipple.module.member.common.repository.UserRepository;
 import com.zipple.module.mypage.agent.portfolio.Portfolio;
 import com.zipple.module.mypage.agent.portfolio.PortfolioImage;
-import com.zipple.module.mypage.agent.portfolio.PortfolioImageRepository;
 import com.zipple.module.mypage.agent.portfolio.PortfolioRepository;
+import com.zipple.module.mypage.agent.portfolio.domain.PortfolioCardRow;
 import com.zipple.module.mypage.agent.portfolio.domain.PortfolioMainImage;
 import com.zipple.module.mypage.agent.portfolio.domain.PortfolioPageResponse;
-import com.zipple.module.mypage.agent.portfolio.domain.PortfolioProfile;
 import com.zipple.module.review.domain.ReviewResponse;
-import com.zipple.module.review.entity.Review;
 import com.zipple.module.review.entity.ReviewRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -41,144 +42,96 @@ public class MainPageService {
 
     private final AgentUserRepository agentUserRepository;
     private final PortfolioRepository portfolioRepository;
-    private final PortfolioImageRepository portfolioImageRepository;
     private final UserRepository userRepository;
-    private final AgentLikeRepository likeRepository;
     private final ReviewRepository reviewRepository;
     private final AgentIdBase64Util agentIdUUIDUtil;
-    private final AgentLikeRepository agentLikeRepository;
+    private final AgentMatchingAssembler agentMatchingAssembler;
+    private final CursorUtil cursorUtil;
+    private final GetMember getMember;
+    private final AgentDetailProfileReader agentDetailProfileReader;
+    private final AgentProfileCache agentProfileCache;
+    private final SingleFlight singleFlight;
+
+    private static final String CURSOR_SORT_KEY = "id";
+
+    @Value("${main.agents.max-ids:50}")
+    private int maxAgentIds;
+
+    @Value("${main.matching.max-page-size:50}")
+    private int maxMatchingPageSize;
 
-    @Transactional(readOnly = true)
     public MatchingResponse getMatchingProfile(Pageable pageable) {
-        Page<User> userPage = userRepository.findAll(pageable);
-        List<User> users = userPage.getContent();
-        List<AgentMatchingResponse> matchingList = new ArrayList<>();
-
-        for(User user : users) {
-            Long userId = user.getId();
-            int portfolioCount = portfolioRepository.countByUserId(userId);
-            Optional<AgentUser> optionalAgentUser = agentUserRepository.findById(userId);
-
-            if (optionalAgentUser.isPresent()) {
-                AgentUser agentUser = optionalAgentUser.get();
-                String agentSpecialty = AgentSpecialty.getDescriptionByAgentSpecialty(agentUser.getAgentSpecialty());
-
-                Integer likeCount = likeRepository.countByAgentUserId(userId, false);
-                Integer reviewCount = reviewRepository.countByAgentUser(agentUser);
-                Double startRating = reviewRepository.findAverageStarCountByAgent(agentUser.getId());
-                AgentMatchingResponse agentMatchingResponse = AgentMatchingResponse.builder()
-                        .agentId(agentIdUUIDUtil.encodeLong(userId))
-                        .profileUrl(user.getProfile_image_url())
-                        .agentSpecialty(agentSpecialty)
-                        .portfolioCount(portfolioCount)
-                        .agentName(agentUser.getAgentName())
-                        .title(agentUser.getIntroductionTitle())
-                        .starRating(startRating == null ? 0.0 : startRating)
-                        .likeCount(likeCount)
-                        .reviewCount(reviewCount)
-                        .singleHouseholdExpert(agentUser.getSingleHouseholdExpertRequest())
-                        .build();
-                matchingList.add(agentMatchingResponse);
-            }
-        }
+        Page<Long> agentIdPage = userRepository.findAgentUserIds(pageable);
+        List<AgentMatchingResponse> matchingList = agentMatchingAssembler.assemble(agentIdPage.getContent(), currentViewerId());
 
         return MatchingResponse.builder()
                 .matching(matchingList)
-                .totalElements(userPage.getTotalElements())
-                .totalPages(userPage.getTotalPages())
-                .currentPage(userPage.getNumber())
-                .isLast(userPage.isLast())
+                .totalElements(agentIdPage.getTotalElements())
+                .totalPages(agentIdPage.getTotalPages())
+                .currentPage(agentIdPage.getNumber())
+                .isLast(agentIdPage.isLast())
                 .build();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 찜 목록, 최근 본 중개사처럼 id 를 이미 알고 있는 카드 목록을 한 번에 조회한다.
+     * 카드 조립은 목록 조회와 같은 경로를 쓰므로 id 개수와 무관하게 쿼리 수가 고정된다.
+     * 중복 id 는 처음 나온 위치만 남기고, 없는 중개사는 건너뛰며, 나머지는 요청한 순서대로 돌려준다.
+     */
+    public List<AgentMatchingResponse> getAgentCards(List<String> encodedAgentIds) {
+        if (encodedAgentIds.size() > maxAgentIds) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 중개사는 최대 " + maxAgentIds + "명입니다.");
+        }
+
+        LinkedHashSet<Long> agentIds = new LinkedHashSet<>();
+        for (String encodedAgentId : encodedAgentIds) {
+            if (encodedAgentId.isBlank()) {
+                continue;
+            }
+            agentIds.add(decodeAgentId(encodedAgentId));
+        }
+        return agentMatchingAssembler.assemble(List.copyOf(agentIds), currentViewerId());
+    }
+
+    private Long decodeAgentId(String encodedAgentId) {
+        try {
+            return agentIdUUIDUtil.decodeLong(encodedAgentId.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 중개사 아이디입니다: " + encodedAgentId);
+        }
+    }
+
     public DetailProfileResponse getAgentDetailProfile(String agentId) {
         Long userId = agentIdUUIDUtil.decodeLong(agentId);
-        AgentUser agentUser = agentUserRepository.findById(userId)
-                .orElseThrow(EntityNotFoundException::new);
-
-        User user = agentUser.getUser();
-
-        List<Portfolio> portfolios = portfolioRepository.findTop6ByUserIdOrderByCreatedAtDesc(userId);
-
-        List<PortfolioProfile> portfolioProfiles = portfolios.stream()
-                .map(portfolio -> {
-                    String mainImageUrl = portfolio.getPortfolioImage().stream()
-                            .filter(PortfolioImage::getIsMain)
-                            .map(PortfolioImage::getImageUrl)
-                            .findFirst()
-                            .orElse("");
-
-                    return PortfolioProfile.builder()
-                            .portfolioId(portfolio.getId())
-                            .title(portfolio.getTitle())
-                            .createdAt(portfolio.getCreatedAt().toString())
-                            .portfolioImage(mainImageUrl)
-                            .build();
-                })
-                .collect(Collectors.toList());
-
-        List<Review> reviews = reviewRepository.findTop6ByAgentUserIdOrderByCreatedAtDesc(agentUser.getId());
-
-        List<ReviewResponse> reviewResponses = reviews.stream().map(review ->
-                ReviewResponse.builder()
-                        .reviewId(review.getId())
-                        .profileUrl(Optional.ofNullable(review.getUser().getProfile_image_url()).orElse(""))
-                        .nickname(Optional.ofNullable(review.getUser().getNickname()).orElse(""))
-                        .starCount(review.getStarCount())
-                        .content(Optional.ofNullable(review.getContent()).orElse(""))
-                        .createdAt(review.getCreatedAt().toString())
-                        .updatedAt(review.getUpdatedAt().toString())
-                        .build()
-        ).collect(Collectors.toList());
-
-
-        Double startRating = Optional.ofNullable(reviewRepository.findAverageStarCountByAgent(agentUser.getId())).orElse(0.0);
-
-        String agentType = AgentType.getDescriptionByAgentType(agentUser.getAgentType());
-        Integer reviewTotalCount = reviewRepository.countAllByAgentUser(agentUser);
-
-        return DetailProfileResponse.builder()
-                .email(user.getEmail())
-                .profileUrl(Optional.ofNullable(user.getProfile_image_url()).orElse(""))
-                .title(user.getNickname())
-                .externalLink(Optional.ofNullable(agentUser.getExternalLink()).orElse(""))
-                .agentName(agentUser.getAgentName())
-                .starRating(startRating)
-                .reviewTotalCount(reviewTotalCount)
-                .agentType(agentType)
-                .landLineNumber(agentUser.getPrimaryContactNumber())
-                .businessName(agentUser.getBusinessName())
-                .agentSpecialty(AgentSpecialty.getDescriptionByAgentSpecialty(agentUser.getAgentSpecialty()))
-                .agentRegistrationNumber(agentUser.getAgentRegistrationNumber())
-                .ownerName(agentUser.getOwnerName())
-                .ownerContactNumber(agentUser.getOwnerContactNumber())
-                .officeAddress(agentUser.getOfficeAddress())
-                .portfolios(portfolioProfiles)
-                .reviews(reviewResponses)
-                .build();
+        return singleFlight.execute("agentDetailProfile", String.valueOf(userId),
+                () -> agentProfileCache.getDetail(userId, () -> agentDetailProfileReader.read(userId)));
     }
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
 
     public PortfolioPageResponse getAgentPortfolio(String agentId, Pageable pageable) {
         Long userId = agentIdUUIDUtil.decodeLong(agentId);
+        return singleFlight.execute("agentPortfolio", userId + "|" + pageKey(pageable),
+                () -> loadAgentPortfolio(userId, pageable));
+    }
+
+    private PortfolioPageResponse loadAgentPortfolio(Long userId, Pageable pageable) {
         AgentUser agentUser = agentUserRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 공인중개사입니다."));
 
         AgentType agentType = agentUser.getAgentType();
 
-        Page<PortfolioImage> portfolioPage = portfolioImageRepository.findByPortfolioUserIdAndPortfolioAgentTypeAndIsMainTrue(
+        Page<PortfolioCardRow> portfolioPage = portfolioRepository.findCardPageByUserIdAndAgentType(
                 userId, agentType, pageable
         );
 
         List<PortfolioMainImage> portfolioList = portfolioPage.getContent().stream()
-                .map(portfolioImage -> PortfolioMainImage.builder()
-                        .portfolioId(portfolioImage.getPortfolio().getId())
-                        .portfolioTitle(portfolioImage.getPortfolio().getTitle())
-                        .portfolioContent(portfolioImage.getPortfolio().getContent())
-                        .mainImageUrl(portfolioImage.getImageUrl())
-                        .createdAt(portfolioImage.getPortfolio().getCreatedAt().format(DATE_FORMATTER))
+                .map(portfolio -> PortfolioMainImage.builder()
+                        .portfolioId(portfolio.getPortfolioId())
+                        .portfolioTitle(portfolio.getTitle())
+                        .portfolioContent(portfolio.getContent())
+                        .mainImageUrl(portfolio.getMainImageUrl())
+                        .createdAt(portfolio.getCreatedAt().format(DATE_FORMATTER))
                         .build())
                 .collect(Collectors.toList());
 
@@ -210,57 +163,62 @@ public class MainPageService {
 //                .build();
 //    }
 
-    @Transactional(readOnly = true)
     public MatchingResponse getMatchingCategory(String category, Pageable pageable) {
-        Page<User> userPage;
+        // 좋아요 여부가 사용자마다 다르므로 조회자 id 도 키에 포함한다.
+        Long viewerId = currentViewerId();
+        return singleFlight.execute("matchingCategory", category + "|" + pageKey(pageable) + "|" + viewerId,
+                () -> loadMatchingCategory(category, pageable, viewerId));
+    }
+
+    private MatchingResponse loadMatchingCategory(String category, Pageable pageable, Long viewerId) {
+        Page<Long> agentIdPage;
 
         if (category == null || category.trim().isEmpty()) {
-            userPage = userRepository.findAll(pageable);
+            agentIdPage = userRepository.findAgentUserIds(pageable);
         } else {
-            userPage = userRepository.findByAgentUser_AgentSpecialty(AgentSpecialty.getByDescription(category), pageable);
+            agentIdPage = userRepository.findAgentUserIdsByAgentSpecialty(AgentSpecialty.getByDescription(category), pageable);
         }
 
-        List<User> users = userPage.getContent();
-        List<AgentMatchingResponse> matchingList = new ArrayList<>();
-
-        for (User user : users) {
-            Long userId = user.getId();
-            int portfolioCount = portfolioRepository.countByUserId(userId);
-            Optional<AgentUser> optionalAgentUser = agentUserRepository.findById(userId);
-
-            if (optionalAgentUser.isPresent()) {
-                AgentUser agentUser = optionalAgentUser.get();
-                String agentSpecialty = AgentSpecialty.getDescriptionByAgentSpecialty(agentUser.getAgentSpecialty());
-                Integer likeCount = likeRepository.countByAgentUserId(userId);
-                Integer reviewCount = reviewRepository.countByAgentUser(agentUser);
-                Double starRating = Optional.ofNullable(reviewRepository.findAverageStarCountByAgent(agentUser.getId())).orElse(0.0);
-
-
-                boolean isLiked = agentLikeRepository.existsByUserIdAndAgentUserId(userId, agentUser.getId());
-                AgentMatchingResponse agentMatchingResponse = AgentMatchingResponse.builder()
-                        .agentId(agentIdUUIDUtil.encodeLong(userId))
-                        .profileUrl(user.getProfile_image_url())
-                        .agentSpecialty(agentSpecialty)
-                        .portfolioCount(portfolioCount)
-                        .agentName(agentUser.getAgentName())
-                        .title(agentUser.getIntroductionTitle())
-                        .starRating(starRating)
-                        .businessName(agentUser.getBusinessName())
-                        .likeCount(likeCount)
-                        .liked(isLiked)
-                        .reviewCount(reviewCount)
-                        .singleHouseholdExpert(agentUser.getSingleHouseholdExpertRequest())
-                        .build();
-                matchingList.add(agentMatchingResponse);
-            }
+        List<AgentMatchingResponse> matchingList = agentMatchingAssembler.assemble(agentIdPage.getContent(), viewerId);
+
+        return MatchingResponse.builder()
+                .matching(matchingList)
+                .totalElements(agentIdPage.getTotalElements())
+                .totalPages(agentIdPage.getTotalPages())
+                .currentPage(agentIdPage.getNumber())
+                .isLast(agentIdPage.isLast())
+                .build();
+    }
+
+    public MatchingResponse getMatchingCategoryByCursor(String category, String cursor, int size) {
+        if (size < 1 || size > maxMatchingPageSize) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + maxMatchingPageSize + " 이하여야 합니다.");
         }
 
+        Pageable limit = PageRequest.of(0, size + 1);
+        Long lastId = (cursor == null || cursor.isBlank()) ? null : cursorUtil.decode(cursor, CURSOR_SORT_KEY);
+        boolean hasCategory = category != null && !category.trim().isEmpty();
+
+        List<Long> agentIds;
+        if (hasCategory) {
+            AgentSpecialty agentSpecialty = AgentSpecialty.getByDescription(category);
+            agentIds = lastId == null
+                    ? agentUserRepository.findIdsByAgentSpecialtyOrderByIdDesc(agentSpecialty, limit)
+                    : agentUserRepository.findIdsByAgentSpecialtyBeforeOrderByIdDesc(agentSpecialty, lastId, limit);
+        } else {
+            agentIds = lastId == null
+                    ? agentUserRepository.findIdsOrderByIdDesc(limit)
+                    : agentUserRepository.findIdsBeforeOrderByIdDesc(lastId, limit);
+        }
+
+        boolean isLast = agentIds.size() <= size;
+        List<Long> pageIds = isLast ? agentIds : agentIds.subList(0, size);
+        List<AgentMatchingResponse> matchingList = agentMatchingAssembler.assemble(pageIds, currentViewerId());
+
         return MatchingResponse.builder()
                 .matching(matchingList)
-                .totalElements(userPage.getTotalElements())
-                .totalPages(userPage.getTotalPages())
-                .currentPage(userPage.getNumber())
-                .isLast(userPage.isLast())
+                .isLast(isLast)
+                .nextCursor(isLast ? null : cursorUtil.encode(CURSOR_SORT_KEY, pageIds.get(pageIds.size() - 1)))
                 .build();
     }
 
@@ -288,17 +246,19 @@ public class MainPageService {
 
     public ReviewPageResponse getAgentReview(String agentId, Pageable pageable) {
         Long userId = agentIdUUIDUtil.decodeLong(agentId);
-        AgentUser agentUser = agentUserRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 공인중개사입니다."));
+        return singleFlight.execute("agentReview", userId + "|" + pageKey(pageable),
+                () -> loadAgentReview(userId, pageable));
+    }
 
-        Page<Review> reviewPage = reviewRepository.findPagedReviewsByAgentUser(agentUser, pageable);
+    private ReviewPageResponse loadAgentReview(Long userId, Pageable pageable) {
+        if (!agentUserRepository.existsById(userId)) {
+            throw new IllegalArgumentException("존재하지 않는 공인중개사입니다.");
+        }
 
-        List<ReviewResponse> reviewResponses = reviewPage.getContent().stream()
-                .map(this::convertToReviewResponse)
-                .toList();
+        Page<ReviewResponse> reviewPage = reviewRepository.findResponsePageByAgentId(userId, pageable);
 
         return ReviewPageResponse.builder()
-                .content(reviewResponses)
+                .content(reviewPage.getContent())
                 .totalElements(reviewPage.getTotalElements())
                 .totalPages(reviewPage.getTotalPages())
                 .currentPage(reviewPage.getNumber())
@@ -306,15 +266,11 @@ public class MainPageService {
                 .build();
     }
 
-    private ReviewResponse convertToReviewResponse(Review review) {
-        return ReviewResponse.builder()
-                .reviewId(review.getId())
-                .profileUrl(review.getUser().getProfile_image_url())
-                .nickname(review.getUser().getNickname())
-                .starCount(review.getStarCount())
-                .content(review.getContent())
-                .createdAt(review.getCreatedAt().toString())
-                .updatedAt(review.getUpdatedAt().toString())
-                .build();
+    private String pageKey(Pageable pageable) {
+        return pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort();
+    }
+
+    private Long currentViewerId() {
+        return getMember.findCurrentMemberId().orElse(null);
     }
 }
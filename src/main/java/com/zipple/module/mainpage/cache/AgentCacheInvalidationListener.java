@@ -0,0 +1,50 @@
+package com.zipple.module.mainpage.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * {@link AgentProfileCache#INVALIDATION_CHANNEL} 을 구독해 이 노드의 로컬 캐시를 비운다.
+ * 메시지는 "agentId:발행시각(ms)" 형식이며, 발행부터 수신까지의 지연을 agent.cache.invalidation.lag 로 기록한다.
+ */
+@Slf4j
+@Component
+public class AgentCacheInvalidationListener implements MessageListener {
+
+    private final AgentProfileCache agentProfileCache;
+    private final Timer invalidationLag;
+
+    public AgentCacheInvalidationListener(AgentProfileCache agentProfileCache,
+                                          RedisMessageListenerContainer redisMessageListenerContainer,
+                                          MeterRegistry meterRegistry) {
+        this.agentProfileCache = agentProfileCache;
+        this.invalidationLag = Timer.builder("agent.cache.invalidation.lag")
+                .description("중개사 캐시 무효화 메시지 발행부터 수신까지의 지연")
+                .register(meterRegistry);
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(AgentProfileCache.INVALIDATION_CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":");
+        try {
+            agentProfileCache.invalidateLocal(Long.parseLong(parts[0]));
+            if (parts.length > 1) {
+                long lag = System.currentTimeMillis() - Long.parseLong(parts[1]);
+                invalidationLag.record(Duration.ofMillis(Math.max(lag, 0)));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 중개사 캐시 무효화 메시지: {}", body);
+        }
+    }
+}
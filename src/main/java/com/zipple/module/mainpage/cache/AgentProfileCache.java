@@ -0,0 +1,288 @@
+package com.zipple.module.mainpage.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zipple.module.mainpage.domain.AgentMatchingResponse;
+import com.zipple.module.mainpage.domain.DetailProfileResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 중개사 상세 프로필 / 매칭 카드를 중개사 id 단위로 캐시한다.
+ * 조회는 로컬(near) 캐시 -> Redis -> DB 순서로 내려가며, 로컬 캐시는 크기와 TTL 로 제한된다.
+ * 쓰기 경로(MyPageAgentService, ReviewService, LikeService)는 커밋 이후 evict 를 호출하고,
+ * evict 는 Redis 키를 지운 뒤 {@link #INVALIDATION_CHANNEL} 로 알려 모든 노드의 로컬 캐시를 비운다.
+ * Redis 장애 시에는 캐시를 건너뛰고 DB 결과를 그대로 돌려준다.
+ * <p>
+ * agent-cache.early-refresh.enabled 가 켜져 있으면 상세 프로필은 만료 직전에 확률적으로 미리 다시 계산한다(XFetch).
+ * 남은 시간이 계산 시간 * beta 에 가까울수록 갱신 확률이 높아져, 만료 시점에 요청이 한꺼번에 몰리지 않는다.
+ */
+@Slf4j
+@Component
+public class AgentProfileCache {
+
+    private static final String DETAIL = "detail";
+    private static final String CARD = "card";
+
+    public static final String INVALIDATION_CHANNEL = "agent-cache:invalidate";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration detailTtl;
+    private final Duration cardTtl;
+    private final boolean earlyRefreshEnabled;
+    private final double earlyRefreshBeta;
+
+    private final Cache<Long, DetailProfileResponse> nearDetail;
+    private final Cache<Long, AgentMatchingResponse> nearCard;
+
+    private final Counter detailHit;
+    private final Counter detailMiss;
+    private final Counter cardHit;
+    private final Counter cardMiss;
+    private final Counter detailEarlyRefresh;
+    private final Counter evictions;
+
+    public AgentProfileCache(RedisTemplate<String, String> redisTemplate,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${agent-cache.detail-ttl:10m}") Duration detailTtl,
+                             @Value("${agent-cache.card-ttl:10m}") Duration cardTtl,
+                             @Value("${agent-cache.near.max-size:10000}") long nearMaxSize,
+                             @Value("${agent-cache.near.ttl:30s}") Duration nearTtl,
+                             @Value("${agent-cache.early-refresh.enabled:false}") boolean earlyRefreshEnabled,
+                             @Value("${agent-cache.early-refresh.beta:1.0}") double earlyRefreshBeta) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.detailTtl = detailTtl;
+        this.cardTtl = cardTtl;
+        this.earlyRefreshEnabled = earlyRefreshEnabled;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.nearDetail = CaffeineCacheMetrics.monitor(meterRegistry, nearCache(nearMaxSize, nearTtl), "agent.near." + DETAIL);
+        this.nearCard = CaffeineCacheMetrics.monitor(meterRegistry, nearCache(nearMaxSize, nearTtl), "agent.near." + CARD);
+        this.detailHit = requestCounter(meterRegistry, DETAIL, "hit");
+        this.detailMiss = requestCounter(meterRegistry, DETAIL, "miss");
+        this.cardHit = requestCounter(meterRegistry, CARD, "hit");
+        this.cardMiss = requestCounter(meterRegistry, CARD, "miss");
+        this.detailEarlyRefresh = requestCounter(meterRegistry, DETAIL, "early-refresh");
+        this.evictions = Counter.builder("agent.cache.evictions")
+                .description("중개사 캐시 무효화 횟수")
+                .register(meterRegistry);
+    }
+
+    public DetailProfileResponse getDetail(Long agentId, Supplier<DetailProfileResponse> loader) {
+        DetailProfileResponse near = nearDetail.getIfPresent(agentId);
+        if (near != null) {
+            return near;
+        }
+
+        String key = detailKey(agentId);
+        DetailCacheEntry cached = read(key, DetailCacheEntry.class);
+        if (cached != null && cached.getValue() != null && !shouldRefreshEarly(cached)) {
+            detailHit.increment();
+            nearDetail.put(agentId, cached.getValue());
+            return cached.getValue();
+        }
+
+        if (cached == null || cached.getValue() == null) {
+            detailMiss.increment();
+        } else {
+            detailEarlyRefresh.increment();
+        }
+        long startedAt = System.currentTimeMillis();
+        DetailProfileResponse loaded = loader.get();
+        long now = System.currentTimeMillis();
+        write(key, new DetailCacheEntry(now - startedAt, now + detailTtl.toMillis(), loaded), detailTtl);
+        nearDetail.put(agentId, loaded);
+        return loaded;
+    }
+
+    public Map<Long, AgentMatchingResponse> getCards(List<Long> agentIds) {
+        Map<Long, AgentMatchingResponse> cards = new HashMap<>();
+        if (agentIds.isEmpty()) {
+            return cards;
+        }
+
+        // 카드는 호출 측에서 liked 를 채우므로 로컬 캐시의 인스턴스를 그대로 내주지 않고 복사한다.
+        nearCard.getAllPresent(agentIds).forEach((agentId, card) -> cards.put(agentId, card.toBuilder().build()));
+        List<Long> remoteIds = agentIds.stream()
+                .filter(agentId -> !cards.containsKey(agentId))
+                .toList();
+        if (remoteIds.isEmpty()) {
+            return cards;
+        }
+
+        List<String> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(remoteIds.stream().map(this::cardKey).toList());
+        } catch (RuntimeException e) {
+            log.warn("중개사 카드 캐시 조회 실패: {}", e.getMessage());
+            values = null;
+        }
+
+        for (int i = 0; i < remoteIds.size(); i++) {
+            String value = values == null ? null : values.get(i);
+            AgentMatchingResponse card = value == null ? null : deserialize(value, AgentMatchingResponse.class);
+            if (card == null) {
+                cardMiss.increment();
+            } else {
+                cardHit.increment();
+                nearCard.put(remoteIds.get(i), card.toBuilder().build());
+                cards.put(remoteIds.get(i), card);
+            }
+        }
+        return cards;
+    }
+
+    public void putCards(Map<Long, AgentMatchingResponse> cards) {
+        if (cards.isEmpty()) {
+            return;
+        }
+
+        Map<byte[], byte[]> entries = new LinkedHashMap<>();
+        cards.forEach((agentId, card) -> {
+            nearCard.put(agentId, card.toBuilder().build());
+            String value = serialize(card);
+            if (value != null) {
+                entries.put(cardKey(agentId).getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> connection.stringCommands()
+                        .set(key, value, Expiration.from(cardTtl), RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("중개사 카드 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    public void evict(Long agentId) {
+        if (agentId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(agentId);
+                }
+            });
+        } else {
+            evictNow(agentId);
+        }
+    }
+
+    private boolean shouldRefreshEarly(DetailCacheEntry entry) {
+        if (!earlyRefreshEnabled) {
+            return false;
+        }
+        double random = ThreadLocalRandom.current().nextDouble();
+        double gap = -entry.getComputeMillis() * earlyRefreshBeta * Math.log(random);
+        return System.currentTimeMillis() + gap >= entry.getExpiresAt();
+    }
+
+    /**
+     * 다른 노드가 보낸 무효화 메시지를 받았을 때 이 노드의 로컬 캐시만 비운다.
+     */
+    public void invalidateLocal(Long agentId) {
+        nearDetail.invalidate(agentId);
+        nearCard.invalidate(agentId);
+    }
+
+    private void evictNow(Long agentId) {
+        invalidateLocal(agentId);
+        try {
+            redisTemplate.delete(List.of(detailKey(agentId), cardKey(agentId)));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, agentId + ":" + System.currentTimeMillis());
+            evictions.increment();
+        } catch (RuntimeException e) {
+            log.warn("중개사 캐시 무효화 실패 agentId={}: {}", agentId, e.getMessage());
+        }
+    }
+
+    private <T> T read(String key, Class<T> type) {
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            return value == null ? null : deserialize(value, type);
+        } catch (RuntimeException e) {
+            log.warn("중개사 캐시 조회 실패 key={}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String key, Object value, Duration ttl) {
+        String json = serialize(value);
+        if (json == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, json, ttl);
+        } catch (RuntimeException e) {
+            log.warn("중개사 캐시 저장 실패 key={}: {}", key, e.getMessage());
+        }
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.warn("중개사 캐시 직렬화 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T deserialize(String value, Class<T> type) {
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            log.warn("중개사 캐시 역직렬화 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String detailKey(Long agentId) {
+        return "agent:" + agentId + ":" + DETAIL;
+    }
+
+    private String cardKey(Long agentId) {
+        return "agent:" + agentId + ":" + CARD;
+    }
+
+    private static <V> Cache<Long, V> nearCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("agent.cache.requests")
+                .description("중개사 캐시 조회 결과")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.zipple.module.mainpage.cache;
+
+import com.zipple.module.mainpage.domain.DetailProfileResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Redis 에 저장하는 상세 프로필 캐시 항목.
+ * 조기 갱신 판단을 위해 값을 계산하는 데 걸린 시간(computeMillis)과 만료 시각(expiresAt)을 함께 둔다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DetailCacheEntry {
+
+    private long computeMillis;
+    private long expiresAt;
+    private DetailProfileResponse value;
+}
@@ -0,0 +1,21 @@
+package com.zipple.module.mainpage.domain;
+
+import com.zipple.module.member.common.entity.category.AgentSpecialty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AgentCardRow {
+    private Long agentId;
+    private String profileUrl;
+    private AgentSpecialty agentSpecialty;
+    private String agentName;
+    private String title;
+    private String businessName;
+    private Boolean singleHouseholdExpert;
+    private Long portfolioCount;
+    private Long likeCount;
+    private Long reviewCount;
+    private Long starSum;
+}
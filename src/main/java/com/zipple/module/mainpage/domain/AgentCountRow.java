@@ -0,0 +1,11 @@
+package com.zipple.module.mainpage.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AgentCountRow {
+    private Long agentId;
+    private Long count;
+}
@@ -0,0 +1,12 @@
+package com.zipple.module.mainpage.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AgentReviewStatRow {
+    private Long agentId;
+    private Long reviewCount;
+    private Long starSum;
+}
@@ -28,4 +28,7 @@ public class MatchingResponse {
 
     @Schema(description = "마지막 페이지 여부", example = "false")
     private Boolean isLast;
+
+    @Schema(description = "다음 페이지 커서 (커서 조회 시에만, 마지막 페이지면 null)", example = "aWQ6MTIz")
+    private String nextCursor;
 }
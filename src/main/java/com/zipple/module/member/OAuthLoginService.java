@@ -1,14 +1,20 @@
 package com.zipple.module.member;
 
+import com.zipple.common.auth.jwt.JwtPrincipal;
 import com.zipple.common.auth.jwt.JwtTokenProvider;
+import com.zipple.common.auth.jwt.TokenRevocationService;
 import com.zipple.common.auth.jwt.token.AuthTokens;
 import com.zipple.common.auth.jwt.token.AuthTokensGenerator;
+import com.zipple.common.auth.session.UserSessionStore;
 import com.zipple.common.oauth.OAuthInfoResponse;
 import com.zipple.common.oauth.OAuthLoginParams;
 import com.zipple.common.oauth.RequestOAuthInfoService;
 import com.zipple.common.utils.AgentIdBase64Util;
 import com.zipple.common.utils.GetMember;
+import com.zipple.module.like.LikeCounterStore;
 import com.zipple.module.like.entity.AgentLikeRepository;
+import com.zipple.module.mainpage.cache.AgentProfileCache;
+import com.zipple.module.mainpage.domain.AgentCountRow;
 import com.zipple.module.member.common.entity.AgentUser;
 import com.zipple.module.member.common.entity.User;
 
@@ -25,9 +31,11 @@ import com.zipple.module.mypage.agent.portfolio.PortfolioImageRepository;
 import com.zipple.module.mypage.agent.portfolio.PortfolioRepository;
 import com.zipple.module.review.entity.Review;
 import com.zipple.module.review.entity.ReviewRepository;
+import com.zipple.module.stats.AgentStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,7 +44,6 @@ import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @Transactional
@@ -44,17 +51,16 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class OAuthLoginService {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private static final long SERVICE_REFRESH_TOKEN_EXPIRATION = 604800L;
-    private static final long KAKAO_REFRESH_TOKEN_EXPIRATION = 604800L;
-    private static final long KAKAO_ACCESS_TOKEN_EXPIRATION = 86400L;
+    private final UserSessionStore userSessionStore;
 
     private final UserRepository userRepository;
     private final AuthTokensGenerator authTokensGenerator;
     private final RequestOAuthInfoService requestOAuthInfoService;
+    @Qualifier("kakaoRestTemplate")
     private final RestTemplate restTemplate;
     private final GetMember getMember;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
 
     private final PortfolioRepository portfolioRepository;
     private final PortfolioImageRepository portfolioImageRepository;
@@ -62,9 +68,18 @@ public class OAuthLoginService {
     private final AgentLikeRepository agentLikeRepository;
     private final GeneralUserRepository  generalUserRepository;
     private final AgentUserRepository agentUserRepository;
+    private final AgentStatsService agentStatsService;
+    private final AgentProfileCache agentProfileCache;
+    private final LikeCounterStore likeCounterStore;
 
     private final AgentIdBase64Util agentIdBase64Util;
 
+    @Value("${spring.oauth.kakao.url.auth}")
+    private String kakaoAuthUrl;
+
+    @Value("${spring.oauth.kakao.url.api}")
+    private String kakaoApiUrl;
+
     public AuthLoginResponse login(OAuthLoginParams params) {
         Map<String, Object> response = requestOAuthInfoService.request(params);
         OAuthInfoResponse oAuthInfoResponse = (OAuthInfoResponse) response.get("o_auth_info");
@@ -72,9 +87,10 @@ public class OAuthLoginService {
         String kakaoRefreshToken = response.get("refresh_token").toString();
 
         Long userId = findOrCreateMember(oAuthInfoResponse);
-        AuthTokens authTokens = authTokensGenerator.generate(userId);
+        String sessionId = UUID.randomUUID().toString();
+        AuthTokens authTokens = authTokensGenerator.generate(userId, sessionId);
 
-        saveTokens(userId,kakaoAccessToken, kakaoRefreshToken, authTokens.getRefreshToken());
+        userSessionStore.open(userId, sessionId, kakaoAccessToken, kakaoRefreshToken, authTokens);
 
         User user = userRepository.findById(userId).orElseThrow();
         boolean isRegistered = user.getAgentUser() == null || user.getGeneralUser() == null;
@@ -104,13 +120,13 @@ public class OAuthLoginService {
         return userRepository.save(user).getId();
     }
 
-    public String refreshKakaoAccessToken(Long userId) {
-        String kakaoRefreshToken = getKakaoRefreshToken(userId);
+    public String refreshKakaoAccessToken(Long userId, String sessionId) {
+        String kakaoRefreshToken = userSessionStore.getKakaoRefreshToken(userId, sessionId);
         if (kakaoRefreshToken == null) {
             throw new IllegalStateException("카카오 리프레시 토큰이 없습니다.");
         }
 
-        String url = "https://kauth.kakao.com/oauth/token";
+        String url = kakaoAuthUrl + "/oauth/token";
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
@@ -131,28 +147,28 @@ public class OAuthLoginService {
 
     public boolean logout() {
         Long userId = userId();
-        String kakaoAccessToken = getKakaoAccessToken(userId);
+        String sessionId = sessionId();
+        String kakaoAccessToken = userSessionStore.getKakaoAccessToken(userId, sessionId);
 
         boolean isLoggedOut = callKakaoLogoutAPI(kakaoAccessToken);
 
         if (!isLoggedOut) {
-            String newAccessToken = refreshKakaoAccessToken(userId);
+            String newAccessToken = refreshKakaoAccessToken(userId, sessionId);
             if (newAccessToken != null) {
                 isLoggedOut = callKakaoLogoutAPI(newAccessToken);
             }
         }
 
         if (isLoggedOut) {
-            deleteServiceRefreshToken(userId);
-            deleteKakaoAccessToken(userId);
-            deleteKakaoRefreshToken(userId);
+            userSessionStore.close(userId, sessionId).forEach(tokenRevocationService::revoke);
+            revokeCurrentToken();
         }
 
         return isLoggedOut;
     }
 
     private boolean callKakaoLogoutAPI(String accessToken) {
-        String url = "https://kapi.kakao.com/v1/user/logout";
+        String url = kakaoApiUrl + "/v1/user/logout";
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
         headers.set("Authorization", "Bearer " + accessToken);
@@ -170,21 +186,22 @@ public class OAuthLoginService {
 
     public boolean withdraw() {
         Long userId = userId();
-        String kakaoAccessToken = getKakaoAccessToken(userId);
+        String sessionId = sessionId();
+        String kakaoAccessToken = userSessionStore.getKakaoAccessToken(userId, sessionId);
 
         boolean isWithdrawn = callKakaoWithdrawAPI(kakaoAccessToken);
 
         if (!isWithdrawn) {
-            String newAccessToken = refreshKakaoAccessToken(userId);
+            String newAccessToken = refreshKakaoAccessToken(userId, sessionId);
             if (newAccessToken != null) {
                 isWithdrawn = callKakaoWithdrawAPI(newAccessToken);
             }
         }
 
         if (isWithdrawn) {
-            deleteServiceRefreshToken(userId);
-            deleteKakaoAccessToken(userId);
-            deleteKakaoRefreshToken(userId);
+            // 다른 기기에서 받은 액세스 토큰도 만료 전까지 쓰이지 않도록 모든 세션의 토큰을 폐기한다.
+            userSessionStore.closeAll(userId).forEach(tokenRevocationService::revoke);
+            revokeCurrentToken();
             deleteUserFromDatabase(userId);
         }
 
@@ -192,7 +209,7 @@ public class OAuthLoginService {
     }
 
     private boolean callKakaoWithdrawAPI(String accessToken) {
-        String url = "https://kapi.kakao.com/v1/user/unlink";
+        String url = kakaoApiUrl + "/v1/user/unlink";
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
         headers.set("Authorization", "Bearer " + accessToken);
@@ -218,10 +235,23 @@ public class OAuthLoginService {
         }
         portfolioRepository.deleteAll(portfolios);
 
+        // 사용자가 누른 좋아요를 지우기 전에 중개사별 좋아요 수를 줄이고 카드 캐시를 비운다.
+        for (AgentCountRow row : agentLikeRepository.countActiveGroupByAgentUserIdForUser(userId)) {
+            if (row.getAgentId().equals(userId)) {
+                continue;
+            }
+            agentStatsService.likesRemoved(row.getAgentId(), row.getCount());
+            agentProfileCache.evict(row.getAgentId());
+        }
+
+        // write-behind 모드에서 Redis 에 남은 좋아요 상태도 DB 에서 다시 적재하도록 버린다.
+        Set<Long> likeChangedAgentIds = new HashSet<>(agentLikeRepository.findAgentIdsByUserId(userId));
         agentLikeRepository.deleteAllByUser(user);
         if (user.getAgentUser() != null) {
+            likeChangedAgentIds.add(userId);
             agentLikeRepository.deleteAllByAgentUser(user.getAgentUser());
         }
+        likeCounterStore.forget(likeChangedAgentIds);
 
         List<Review> writtenReviews = reviewRepository.findByUser(user);
         for (Review review : writtenReviews) {
@@ -241,71 +271,53 @@ public class OAuthLoginService {
             generalUserRepository.delete(user.getGeneralUser());
         }
         if (user.getAgentUser() != null) {
+            agentStatsService.delete(userId);
+            agentProfileCache.evict(userId);
             agentUserRepository.delete(user.getAgentUser());
         }
 
         userRepository.delete(user);
+        jwtTokenProvider.evictPrincipal(userId);
 
         log.info("사용자 ID {}의 계정 및 모든 연관 데이터를 삭제했습니다.", userId);
     }
 
-    private void deleteKakaoAccessToken(Long userId) {
-        redisTemplate.delete("user:" + userId + ":kakaoAccessToken");
-    }
-
-    private void deleteKakaoRefreshToken(Long userId) {
-        redisTemplate.delete("user:" + userId + ":kakaoRefreshToken");
-    }
-
-    private void saveTokens(Long userId, String kakaoAccessToken, String kakaoRefreshToken, String serviceRefreshToken) {
-        saveKakaoAccessToken(userId, kakaoAccessToken);
-        saveKakaoRefreshToken(userId, kakaoRefreshToken);
-        saveServiceRefreshToken(userId, serviceRefreshToken);
-    }
-
-    private void saveKakaoAccessToken(Long userId, String kakaoAccessToken) {
-        redisTemplate.opsForValue().set("user:" + userId + ":kakaoAccessToken", kakaoAccessToken, KAKAO_ACCESS_TOKEN_EXPIRATION, TimeUnit.SECONDS);
-    }
-
-    private void saveKakaoRefreshToken(Long userId, String refreshToken) {
-        redisTemplate.opsForValue().set("user:" + userId + ":kakaoRefreshToken", refreshToken, KAKAO_REFRESH_TOKEN_EXPIRATION, TimeUnit.SECONDS);
-    }
-
-    private void saveServiceRefreshToken(Long userId, String refreshToken) {
-        redisTemplate.opsForValue().set("user:" + userId + ":serviceRefreshToken", refreshToken, SERVICE_REFRESH_TOKEN_EXPIRATION, TimeUnit.SECONDS);
-    }
-
-    private void deleteServiceRefreshToken(Long userId) {
-        redisTemplate.delete("user:" + userId + ":serviceRefreshToken");
-    }
-
-    private String getKakaoAccessToken(Long userId) {
-        return redisTemplate.opsForValue().get("user:" + userId + ":kakaoAccessToken");
+    private Long userId() {
+        User user = getMember.getCurrentMember();
+        return user.getId();
     }
 
-    private String getKakaoRefreshToken(Long userId) {
-        return redisTemplate.opsForValue().get("user:" + userId + ":kakaoRefreshToken");
+    private void revokeCurrentToken() {
+        getMember.findCurrentPrincipal()
+                .ifPresent(principal -> tokenRevocationService.revoke(principal.getTokenId(), principal.getExpiresAt()));
     }
 
-    private String getServiceRefreshToken(Long userId) {
-        return redisTemplate.opsForValue().get("user:" + userId + ":serviceRefreshToken");
-    }
-
-    private Long userId() {
-        User user = getMember.getCurrentMember();
-        return user.getId();
+    private String sessionId() {
+        return getMember.findCurrentSessionId()
+                .orElseThrow(() -> new IllegalStateException("로그인 세션 정보가 없는 토큰입니다."));
     }
 
+    /**
+     * 리프레시 토큰을 회전한다. 갱신할 때마다 새 리프레시 토큰을 발급하고 이전 토큰은 더 이상 쓸 수 없다.
+     * 이미 회전된 토큰이 다시 들어오면 탈취된 것으로 보고 해당 세션을 폐기하고, 그 세션에서 발급한 액세스 토큰도 폐기한다.
+     */
     public AccessTokenRenewResponse renewAccessToken(String refreshToken) {
-        String userId = jwtTokenProvider.extractSubject(refreshToken);
-        String storedRefreshToken = getServiceRefreshToken(Long.parseLong(userId));
-
-        if (storedRefreshToken == null || !storedRefreshToken.equals(refreshToken)) {
-            return new AccessTokenRenewResponse(null, true);
+        JwtPrincipal principal = jwtTokenProvider.parseRefreshToken(refreshToken).orElse(null);
+        if (principal == null || principal.getSessionId() == null) {
+            return new AccessTokenRenewResponse(null, true, null);
         }
 
-        String newAccessToken = jwtTokenProvider.generate(userId, new Date(System.currentTimeMillis() + 3600000));
-        return new AccessTokenRenewResponse(newAccessToken, false);
+        AuthTokens authTokens = authTokensGenerator.generate(principal.getUserId(), principal.getSessionId());
+        UserSessionStore.Rotation rotation = userSessionStore.rotateRefreshToken(
+                principal.getUserId(), principal.getSessionId(), refreshToken, authTokens);
+
+        if (rotation.result() == UserSessionStore.RotationResult.REUSED) {
+            rotation.discardedAccessTokens().forEach(tokenRevocationService::revoke);
+        }
+        if (rotation.result() != UserSessionStore.RotationResult.ROTATED) {
+            return new AccessTokenRenewResponse(null, true, null);
+        }
+        return new AccessTokenRenewResponse(authTokens.getAccessToken(), false, authTokens.getRefreshToken());
     }
 
     @Transactional(readOnly = true)
@@ -5,6 +5,7 @@ import com.zipple.module.like.entity.AgentLike;
 import com.zipple.module.review.entity.Review;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.LazyGroup;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -48,10 +49,14 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @OneToOne(cascade = CascadeType.ALL, mappedBy = "user", orphanRemoval = true)
+    // mappedBy 일대일은 프록시를 만들 수 없어 바이트코드 향상(build.gradle hibernate.enhancement)으로 지연 로딩한다.
+    // 그룹을 나눠 두어 한쪽에 접근해도 다른 쪽은 조회하지 않는다.
+    @OneToOne(cascade = CascadeType.ALL, mappedBy = "user", orphanRemoval = true, fetch = FetchType.LAZY)
+    @LazyGroup("generalUser")
     private GeneralUser generalUser;
 
-    @OneToOne(cascade = CascadeType.ALL, mappedBy = "user", orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, mappedBy = "user", orphanRemoval = true, fetch = FetchType.LAZY)
+    @LazyGroup("agentUser")
     private AgentUser agentUser;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -1,5 +1,6 @@
 package com.zipple.module.member.common.repository;
 
+import com.zipple.module.mainpage.domain.AgentCardRow;
 import com.zipple.module.member.common.entity.AgentUser;
 import com.zipple.module.member.common.entity.category.AgentSpecialty;
 import org.springframework.data.domain.Page;
@@ -8,6 +9,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AgentUserRepository extends JpaRepository<AgentUser, Long> {
@@ -16,4 +19,28 @@ public interface AgentUserRepository extends JpaRepository<AgentUser, Long> {
     Page<AgentUser> findByAgentSpecialty(@Param("agentSpecialty") AgentSpecialty agentSpecialty, Pageable pageable);
 
     AgentUser findByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.zipple.module.mainpage.domain.AgentCardRow(" +
+            "a.id, u.profile_image_url, a.agentSpecialty, a.agentName, a.introductionTitle, a.businessName, a.singleHouseholdExpertRequest, " +
+            "s.portfolioCount, s.likeCount, s.reviewCount, s.starSum) " +
+            "FROM AgentUser a JOIN a.user u LEFT JOIN AgentStats s ON s.agentId = a.id " +
+            "WHERE a.id IN :agentIds")
+    List<AgentCardRow> findCardRowsByIdIn(@Param("agentIds") Collection<Long> agentIds);
+
+    @Query("SELECT a.id FROM AgentUser a ORDER BY a.id DESC")
+    List<Long> findIdsOrderByIdDesc(Pageable pageable);
+
+    @Query("SELECT a.id FROM AgentUser a WHERE a.id < :cursor ORDER BY a.id DESC")
+    List<Long> findIdsBeforeOrderByIdDesc(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT a.id FROM AgentUser a WHERE a.agentSpecialty = :agentSpecialty ORDER BY a.id DESC")
+    List<Long> findIdsByAgentSpecialtyOrderByIdDesc(@Param("agentSpecialty") AgentSpecialty agentSpecialty, Pageable pageable);
+
+    @Query("SELECT a.id FROM AgentUser a WHERE a.agentSpecialty = :agentSpecialty AND a.id < :cursor ORDER BY a.id DESC")
+    List<Long> findIdsByAgentSpecialtyBeforeOrderByIdDesc(@Param("agentSpecialty") AgentSpecialty agentSpecialty,
+                                                          @Param("cursor") Long cursor,
+                                                          Pageable pageable);
+
+    @Query("SELECT a.id FROM AgentUser a WHERE a.id > :lastId ORDER BY a.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
 }
@@ -14,8 +14,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Query("SELECT u.email FROM User u WHERE u.id = :id")
+    Optional<String> findEmailById(@Param("id") Long id);
+
     @Query("SELECT u FROM User u JOIN u.agentUser au WHERE au.agentSpecialty = :category")
     Page<User> findByAgentUser_AgentSpecialty(@Param("category") AgentSpecialty category, Pageable pageable);
 
     Optional<User> findByMainEmail(String email);
+
+    @Query(value = "SELECT u.id FROM User u JOIN u.agentUser au",
+            countQuery = "SELECT COUNT(u) FROM User u JOIN u.agentUser au")
+    Page<Long> findAgentUserIds(Pageable pageable);
+
+    @Query(value = "SELECT u.id FROM User u JOIN u.agentUser au WHERE au.agentSpecialty = :category",
+            countQuery = "SELECT COUNT(u) FROM User u JOIN u.agentUser au WHERE au.agentSpecialty = :category")
+    Page<Long> findAgentUserIdsByAgentSpecialty(@Param("category") AgentSpecialty category, Pageable pageable);
 }
@@ -12,6 +12,7 @@ import com.zipple.module.member.oauth.model.AgentUserRequest;
 import com.zipple.module.member.oauth.model.GeneralUserRequest;
 import com.zipple.module.member.common.repository.AgentUserRepository;
 import com.zipple.module.member.common.repository.GeneralUserRepository;
+import com.zipple.module.stats.AgentStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -37,6 +38,7 @@ public class AfterOAuthService {
     private final GeneralUserRepository generalUserRepository;
     private final AgentUserRepository agentUserRepository;
     private final UserRepository userRepository;
+    private final AgentStatsService agentStatsService;
 
     @Transactional
     public void generalRegister(GeneralUserRequest generalUserRequest) {
@@ -90,6 +92,7 @@ public class AfterOAuthService {
                 .build();
 
         agentUserRepository.save(agentUser);
+        agentStatsService.initialize(user.getId());
 
         user.setEmail(agentUserRequest.getEmail());
         user.setAgentUser(agentUser);
@@ -10,4 +10,6 @@ import lombok.Data;
 public class AccessTokenRenewResponse {
     private String accessToken;
     private Boolean isLogout;
+    @Schema(description = "새 리프레시 토큰. 갱신할 때마다 바뀌며 이전 토큰은 다시 쓸 수 없다.")
+    private String refreshToken;
 }
@@ -1,6 +1,7 @@
 package com.zipple.module.mypage.agent;
 
 import com.zipple.common.utils.GetMember;
+import com.zipple.module.mainpage.cache.AgentProfileCache;
 import com.zipple.module.member.common.entity.AgentUser;
 import com.zipple.module.member.common.entity.User;
 import com.zipple.module.member.common.entity.category.AgentSpecialty;
@@ -12,12 +13,13 @@ import com.zipple.module.mypage.agent.domain.DetailUpdateRequest;
 import com.zipple.module.mypage.agent.domain.MyPageAgentResponse;
 import com.zipple.module.mypage.agent.portfolio.Portfolio;
 import com.zipple.module.mypage.agent.portfolio.PortfolioImage;
-import com.zipple.module.mypage.agent.portfolio.PortfolioImageRepository;
 import com.zipple.module.mypage.agent.portfolio.PortfolioRepository;
 import com.zipple.module.mypage.agent.portfolio.domain.MyPageAgentAllResponse;
+import com.zipple.module.mypage.agent.portfolio.domain.PortfolioCardRow;
 import com.zipple.module.mypage.agent.portfolio.domain.PortfolioImageList;
 import com.zipple.module.mypage.agent.portfolio.domain.PortfolioMainImage;
 import com.zipple.module.mypage.agent.portfolio.domain.PortfolioPageResponse;
+import com.zipple.module.stats.AgentStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -46,7 +48,8 @@ public class MyPageAgentService {
     private final AgentUserRepository agentUserRepository;
     private final UserRepository userRepository;
     private final PortfolioRepository portfolioRepository;
-    private final PortfolioImageRepository portfolioImageRepository;
+    private final AgentStatsService agentStatsService;
+    private final AgentProfileCache agentProfileCache;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
 
@@ -84,6 +87,7 @@ public class MyPageAgentService {
         currentUser.setEmail(request.getEmail());
         userRepository.save(currentUser);
         agentUserRepository.save(agentUser);
+        agentProfileCache.evict(agentUser.getId());
     }
 
     @Transactional
@@ -100,6 +104,7 @@ public class MyPageAgentService {
         agentUser.setSingleHouseholdExpertRequest(request.getSingleHouseholdExpertRequest());
 
         agentUserRepository.save(agentUser);
+        agentProfileCache.evict(agentUser.getId());
     }
 
     @Transactional
@@ -141,6 +146,10 @@ public class MyPageAgentService {
                         .createdAt(LocalDateTime.now())
                         .build();
 
+                if (i == 0) {
+                    portfolio.setMainImageUrl(imageUrl);
+                }
+
                 savedImages.add(portfolioImage);
 
             } catch (IOException e) {
@@ -150,41 +159,28 @@ public class MyPageAgentService {
 
         portfolio.setPortfolioImage(savedImages);
         portfolioRepository.save(portfolio);
+        agentStatsService.portfolioAdded(currentUser.getId());
+        agentProfileCache.evict(currentUser.getId());
     }
 
-//    @Transactional(readOnly = true)
-//    public PortfolioPageResponse getLicensedAgentPortfolios(Pageable pageable) {
-//        User user = getMember.getCurrentMember();
-//        Long userId = user.getId();
-//        AgentUser agentUser = agentUserRepository.findByUserId(userId);
-//        Page<PortfolioMainImage> page = portfolioImageRepository.findByPortfolioUserIdAndPortfolioAgentTypeAndIsMainTrue(userId, pageable, agentUser.getAgentType());
-//
-//        return PortfolioPageResponse.builder()
-//                .content(page.getContent())
-//                .totalElements(page.getTotalElements())
-//                .totalPages(page.getTotalPages())
-//                .currentPage(page.getNumber())
-//                .isLast(page.isLast())
-//                .build();
-//    }
-
+    @Transactional(readOnly = true)
     public PortfolioPageResponse getLicensedAgentPortfolios(Pageable pageable) {
         User user = getMember.getCurrentMember();
         Long userId = user.getId();
         AgentUser agentUser = agentUserRepository.findByUserId(userId);
 
-        Page<PortfolioImage> portfolioPage = portfolioImageRepository.findByPortfolioUserIdAndPortfolioAgentTypeAndIsMainTrue(
+        Page<PortfolioCardRow> portfolioPage = portfolioRepository.findCardPageByUserIdAndAgentType(
                 userId, agentUser.getAgentType(), pageable
         );
 
         List<PortfolioMainImage> portfolioList = portfolioPage.getContent().stream()
-                .map(portfolioImage -> PortfolioMainImage.builder()
-                        .portfolioId(portfolioImage.getPortfolio().getId())
-                        .portfolioTitle(portfolioImage.getPortfolio().getTitle())
-                        .portfolioContent(portfolioImage.getPortfolio().getContent())
-                        .mainImageUrl(portfolioImage.getImageUrl())
-                        .portfolioLink(portfolioImage.getPortfolio().getPortfolioLink())
-                        .createdAt(portfolioImage.getPortfolio().getCreatedAt().format(DATE_FORMATTER))
+                .map(portfolio -> PortfolioMainImage.builder()
+                        .portfolioId(portfolio.getPortfolioId())
+                        .portfolioTitle(portfolio.getTitle())
+                        .portfolioContent(portfolio.getContent())
+                        .mainImageUrl(portfolio.getMainImageUrl())
+                        .portfolioLink(portfolio.getPortfolioLink())
+                        .createdAt(portfolio.getCreatedAt().format(DATE_FORMATTER))
                         .build())
                 .collect(Collectors.toList());
 
@@ -240,6 +236,8 @@ public class MyPageAgentService {
         }
 
         portfolioRepository.delete(portfolio);
+        agentStatsService.portfolioRemoved(user.getId());
+        agentProfileCache.evict(user.getId());
     }
 
     @Transactional
@@ -257,6 +255,7 @@ public class MyPageAgentService {
 
         List<PortfolioImage> originalImages = portfolio.getPortfolioImage();
         originalImages.clear();
+        portfolio.setMainImageUrl(null);
 
         String baseDir = "/home/ubuntu/zipple/upload/";
         String baseUrl = "https://api.zipple.co.kr";
@@ -281,6 +280,10 @@ public class MyPageAgentService {
                         .createdAt(LocalDateTime.now())
                         .build();
 
+                if (i == 0) {
+                    portfolio.setMainImageUrl(imageUrl);
+                }
+
                 originalImages.add(portfolioImage);
 
             } catch (IOException e) {
@@ -295,6 +298,7 @@ public class MyPageAgentService {
         portfolio.setPortfolioLink(portfolioLink);
 
         portfolioRepository.save(portfolio);
+        agentProfileCache.evict(currentUser.getId());
     }
 }
 
@@ -43,6 +43,10 @@ public class Portfolio {
     @Column(name = "portfolio_link")
     private String portfolioLink;
 
+    /** 대표 이미지(isMain) URL. 이미지 등록/수정 시 함께 갱신한다. */
+    @Column(name = "main_image_url")
+    private String mainImageUrl;
+
     @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<PortfolioImage> portfolioImage = new ArrayList<>();
@@ -1,10 +1,16 @@
 package com.zipple.module.mypage.agent.portfolio;
 
+import com.zipple.module.mainpage.domain.AgentCountRow;
 import com.zipple.module.member.common.entity.User;
+import com.zipple.module.member.common.entity.category.AgentType;
+import com.zipple.module.mypage.agent.portfolio.domain.PortfolioCardRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +33,24 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
     List<Portfolio> findByUser(User user);
 
     Optional<Portfolio> findByUserId(Long id);
+
+    @Query("SELECT new com.zipple.module.mainpage.domain.AgentCountRow(p.user.id, COUNT(p)) " +
+            "FROM Portfolio p WHERE p.user.id IN :userIds GROUP BY p.user.id")
+    List<AgentCountRow> countGroupByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT new com.zipple.module.mypage.agent.portfolio.domain.PortfolioCardRow(" +
+            "p.id, p.title, p.content, p.portfolioLink, p.mainImageUrl, p.createdAt) " +
+            "FROM Portfolio p WHERE p.user.id = :userId " +
+            "ORDER BY p.createdAt DESC")
+    List<PortfolioCardRow> findCardsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT new com.zipple.module.mypage.agent.portfolio.domain.PortfolioCardRow(" +
+            "p.id, p.title, p.content, p.portfolioLink, p.mainImageUrl, p.createdAt) " +
+            "FROM Portfolio p " +
+            "WHERE p.user.id = :userId AND p.agentType = :agentType AND p.mainImageUrl IS NOT NULL",
+            countQuery = "SELECT COUNT(p) FROM Portfolio p " +
+                    "WHERE p.user.id = :userId AND p.agentType = :agentType AND p.mainImageUrl IS NOT NULL")
+    Page<PortfolioCardRow> findCardPageByUserIdAndAgentType(@Param("userId") Long userId,
+                                                           @Param("agentType") AgentType agentType,
+                                                           Pageable pageable);
 }
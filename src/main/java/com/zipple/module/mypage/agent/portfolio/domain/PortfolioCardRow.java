@@ -0,0 +1,21 @@
+package com.zipple.module.mypage.agent.portfolio.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오 카드 조회용 프로젝션. portfolio_images 를 읽지 않고 portfolios.main_image_url 만 사용한다.
+ */
+@Getter
+@AllArgsConstructor
+public class PortfolioCardRow {
+
+    private Long portfolioId;
+    private String title;
+    private String content;
+    private String portfolioLink;
+    private String mainImageUrl;
+    private LocalDateTime createdAt;
+}
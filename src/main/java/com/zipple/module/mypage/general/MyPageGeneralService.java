@@ -22,8 +22,8 @@ public class MyPageGeneralService {
     private final UserRepository userRepository;
 
     public MyPageResponse getMyPageInformation() {
-        Long userId = getMember.getCurrentMember().getId();
-        User users = userRepository.findById(userId).orElse(null);
+        User users = getMember.getCurrentMember();
+        Long userId = users.getId();
         GeneralUser user = generalUserRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."));
         return new MyPageResponse(
@@ -38,9 +38,8 @@ public class MyPageGeneralService {
     @Transactional
     public void updateMyPageInformation(MyPageUpdateRequest myPageUpdateRequest) {
         // 현재 로그인한 사용자 가져오기
-        User currentUser = getMember.getCurrentMember();
-        Long userId = currentUser.getId();
-        User user = userRepository.findById(userId).orElse(null);
+        User user = getMember.getCurrentMember();
+        Long userId = user.getId();
 
         GeneralUser generalUser = generalUserRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."));
@@ -68,13 +67,6 @@ public class MyPageGeneralService {
     @Transactional
     public void deleteMyPageUser() {
         User currentUser = getMember.getCurrentMember();
-        Long userId = currentUser.getId();
-
-        userRepository.findById(userId).ifPresentOrElse(
-                userRepository::delete,
-                () -> {
-                    throw new IllegalArgumentException("사용자를 찾을 수 없습니다.");
-                }
-        );
+        userRepository.delete(currentUser);
     }
 }
@@ -2,6 +2,7 @@ package com.zipple.module.review;
 
 import com.zipple.common.utils.AgentIdBase64Util;
 import com.zipple.common.utils.GetMember;
+import com.zipple.module.mainpage.cache.AgentProfileCache;
 import com.zipple.module.member.common.entity.AgentUser;
 import com.zipple.module.member.common.entity.User;
 import com.zipple.module.member.common.repository.AgentUserRepository;
@@ -9,6 +10,7 @@ import com.zipple.module.review.domain.ReviewRequest;
 import com.zipple.module.review.domain.ReviewResponse;
 import com.zipple.module.review.entity.Review;
 import com.zipple.module.review.entity.ReviewRepository;
+import com.zipple.module.stats.AgentStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,7 +18,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -27,6 +28,8 @@ public class ReviewService {
     private final AgentUserRepository agentUserRepository;
     private final GetMember getMember;
     private final AgentIdBase64Util agentIdBase64Util;
+    private final AgentStatsService agentStatsService;
+    private final AgentProfileCache agentProfileCache;
 
     @Transactional
     public Review createReview(String agentId, ReviewRequest reviewRequest) {
@@ -50,6 +53,8 @@ public class ReviewService {
         reviewRepository.save(review);
         user.getWrittenReviews().add(review);
         agentUser.getReceivedReviews().add(review);
+        agentStatsService.reviewCreated(agentUser.getId(), starCount);
+        agentProfileCache.evict(agentUser.getId());
 
         return review;
     }
@@ -63,8 +68,13 @@ public class ReviewService {
 
         String content = reviewRequest.getContent();
         Integer starCount = reviewRequest.getStarCount();
+        Integer previousStarCount = review.getStarCount();
 
         review.updateReview(content, starCount);
+        if (review.getAgentUser() != null) {
+            agentStatsService.reviewUpdated(review.getAgentUser().getId(), previousStarCount, starCount);
+            agentProfileCache.evict(review.getAgentUser().getId());
+        }
         return review;
     }
 
@@ -74,25 +84,21 @@ public class ReviewService {
         Review review = reviewRepository.findByIdAndUserId(reviewId, user.getId())
                 .orElseThrow(() -> new IllegalArgumentException("리뷰를 찾을 수 없거나 삭제 권한이 없습니다."));
 
+        if (review.getAgentUser() != null) {
+            agentStatsService.reviewDeleted(review.getAgentUser().getId(), review.getStarCount());
+            agentProfileCache.evict(review.getAgentUser().getId());
+        }
         reviewRepository.delete(review);
     }
 
     @Transactional(readOnly = true)
     public List<ReviewResponse> getReviewsByAgent(String agentId) {
         Long decodeAgentId = agentIdBase64Util.decodeLong(agentId);
-        AgentUser agentUser = agentUserRepository.findById(decodeAgentId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 공인중개사입니다."));
+        if (!agentUserRepository.existsById(decodeAgentId)) {
+            throw new IllegalArgumentException("존재하지 않는 공인중개사입니다.");
+        }
 
-        return reviewRepository.findByAgentUser(agentUser).stream()
-                .map(review -> ReviewResponse.builder()
-                        .reviewId(review.getId())
-                        .profileUrl(review.getUser().getProfile_image_url())
-                        .nickname(review.getUser().getNickname())
-                        .content(review.getContent())
-                        .createdAt(review.getCreatedAt().toString())
-                        .updatedAt(review.getUpdatedAt().toString())
-                        .build())
-                .collect(Collectors.toList());
+        return reviewRepository.findResponsesByAgentId(decodeAgentId);
     }
 
     @Transactional(readOnly = true)
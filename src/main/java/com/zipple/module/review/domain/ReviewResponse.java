@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -32,4 +34,18 @@ public class ReviewResponse {
 
     @Schema(description = "수정일")
     private String updatedAt;
+
+    /**
+     * ReviewRepository 의 JPQL 프로젝션용 생성자. 작성/수정일은 기존 응답과 같이 LocalDateTime.toString() 형식으로 내려간다.
+     */
+    public ReviewResponse(Long reviewId, String profileUrl, String nickname, Integer starCount, String content,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.reviewId = reviewId;
+        this.profileUrl = profileUrl;
+        this.nickname = nickname;
+        this.starCount = starCount;
+        this.content = content;
+        this.createdAt = createdAt == null ? null : createdAt.toString();
+        this.updatedAt = updatedAt == null ? null : updatedAt.toString();
+    }
 }
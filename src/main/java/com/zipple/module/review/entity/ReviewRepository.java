@@ -1,13 +1,16 @@
 package com.zipple.module.review.entity;
 
+import com.zipple.module.mainpage.domain.AgentReviewStatRow;
 import com.zipple.module.member.common.entity.AgentUser;
 import com.zipple.module.member.common.entity.User;
+import com.zipple.module.review.domain.ReviewResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,4 +35,30 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Integer countAllByAgentUser(AgentUser agentUser);
 
     List<Review> findByUser(User user);
+
+    @Query("SELECT new com.zipple.module.mainpage.domain.AgentReviewStatRow(r.agentUser.id, COUNT(r), SUM(r.starCount)) " +
+            "FROM Review r WHERE r.agentUser.id IN :agentIds GROUP BY r.agentUser.id")
+    List<AgentReviewStatRow> findReviewStatsByAgentIdIn(@Param("agentIds") Collection<Long> agentIds);
+
+    // 리뷰 응답은 작성자 닉네임/프로필만 필요하므로 User 엔티티를 로딩하지 않고 한 번의 조인으로 읽는다.
+    @Query("SELECT new com.zipple.module.review.domain.ReviewResponse(" +
+            "r.id, u.profile_image_url, u.nickname, r.starCount, r.content, r.createdAt, r.updatedAt) " +
+            "FROM Review r LEFT JOIN r.user u " +
+            "WHERE r.agentUser.id = :agentId")
+    List<ReviewResponse> findResponsesByAgentId(@Param("agentId") Long agentId);
+
+    @Query("SELECT new com.zipple.module.review.domain.ReviewResponse(" +
+            "r.id, u.profile_image_url, u.nickname, r.starCount, r.content, r.createdAt, r.updatedAt) " +
+            "FROM Review r LEFT JOIN r.user u " +
+            "WHERE r.agentUser.id = :agentId " +
+            "ORDER BY r.createdAt DESC")
+    List<ReviewResponse> findRecentResponsesByAgentId(@Param("agentId") Long agentId, Pageable pageable);
+
+    @Query(value = "SELECT new com.zipple.module.review.domain.ReviewResponse(" +
+            "r.id, u.profile_image_url, u.nickname, r.starCount, r.content, r.createdAt, r.updatedAt) " +
+            "FROM Review r LEFT JOIN r.user u " +
+            "WHERE r.agentUser.id = :agentId " +
+            "ORDER BY r.createdAt DESC",
+            countQuery = "SELECT COUNT(r) FROM Review r WHERE r.agentUser.id = :agentId")
+    Page<ReviewResponse> findResponsePageByAgentId(@Param("agentId") Long agentId, Pageable pageable);
 }
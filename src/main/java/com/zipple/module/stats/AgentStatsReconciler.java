@@ -0,0 +1,130 @@
+package com.zipple.module.stats;
+
+import com.zipple.module.like.entity.AgentLikeRepository;
+import com.zipple.module.mainpage.domain.AgentCountRow;
+import com.zipple.module.mainpage.domain.AgentReviewStatRow;
+import com.zipple.module.member.common.repository.AgentUserRepository;
+import com.zipple.module.mypage.agent.portfolio.PortfolioRepository;
+import com.zipple.module.review.entity.ReviewRepository;
+import com.zipple.module.stats.entity.AgentStats;
+import com.zipple.module.stats.entity.AgentStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * agent_stats 를 원본 테이블(reviews, agent_likes, portfolios)과 비교해 어긋난 값을 바로잡는다.
+ * 보정은 증감(delta)으로 반영하므로 실행 중 들어온 쓰기를 덮어쓰지 않는다.
+ */
+@Slf4j
+@Component
+public class AgentStatsReconciler {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final AgentUserRepository agentUserRepository;
+    private final AgentStatsRepository agentStatsRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final ReviewRepository reviewRepository;
+    private final AgentLikeRepository agentLikeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AgentStatsReconciler(AgentUserRepository agentUserRepository,
+                                AgentStatsRepository agentStatsRepository,
+                                PortfolioRepository portfolioRepository,
+                                ReviewRepository reviewRepository,
+                                AgentLikeRepository agentLikeRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.agentUserRepository = agentUserRepository;
+        this.agentStatsRepository = agentStatsRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.reviewRepository = reviewRepository;
+        this.agentLikeRepository = agentLikeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${agent-stats.reconcile-cron:0 0 4 * * *}")
+    public int reconcile() {
+        long lastId = 0L;
+        int scanned = 0;
+        int drifted = 0;
+
+        while (true) {
+            List<Long> agentIds = agentUserRepository.findIdsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (agentIds.isEmpty()) {
+                break;
+            }
+
+            Integer chunkDrifted = transactionTemplate.execute(status -> reconcileChunk(agentIds));
+            drifted += chunkDrifted == null ? 0 : chunkDrifted;
+            scanned += agentIds.size();
+            lastId = agentIds.get(agentIds.size() - 1);
+        }
+
+        log.info("agent_stats 정합성 검사 완료: 검사 {}건, 보정 {}건", scanned, drifted);
+        return drifted;
+    }
+
+    private int reconcileChunk(List<Long> agentIds) {
+        Map<Long, AgentStats> current = agentStatsRepository.findAllById(agentIds).stream()
+                .collect(Collectors.toMap(AgentStats::getAgentId, Function.identity()));
+        Map<Long, AgentReviewStatRow> reviewStats = reviewRepository.findReviewStatsByAgentIdIn(agentIds).stream()
+                .collect(Collectors.toMap(AgentReviewStatRow::getAgentId, Function.identity()));
+        Map<Long, Long> likeCounts = toCountMap(agentLikeRepository.countGroupByAgentUserIdIn(agentIds));
+        Map<Long, Long> portfolioCounts = toCountMap(portfolioRepository.countGroupByUserIdIn(agentIds));
+
+        int drifted = 0;
+        for (Long agentId : agentIds) {
+            AgentReviewStatRow reviewStat = reviewStats.get(agentId);
+            long expectedStarSum = reviewStat == null || reviewStat.getStarSum() == null ? 0L : reviewStat.getStarSum();
+            long expectedReviewCount = reviewStat == null ? 0L : reviewStat.getReviewCount();
+            long expectedLikeCount = likeCounts.getOrDefault(agentId, 0L);
+            long expectedPortfolioCount = portfolioCounts.getOrDefault(agentId, 0L);
+
+            AgentStats stats = current.get(agentId);
+            long starSum = stats == null ? 0L : stats.getStarSum();
+            long reviewCount = stats == null ? 0L : stats.getReviewCount();
+            long likeCount = stats == null ? 0L : stats.getLikeCount();
+            long portfolioCount = stats == null ? 0L : stats.getPortfolioCount();
+
+            boolean missing = stats == null;
+            boolean differs = starSum != expectedStarSum
+                    || reviewCount != expectedReviewCount
+                    || likeCount != expectedLikeCount
+                    || portfolioCount != expectedPortfolioCount;
+
+            if (!missing && !differs) {
+                continue;
+            }
+
+            if (differs) {
+                drifted++;
+                log.warn("agent_stats 불일치 agentId={} starSum {}->{}, reviewCount {}->{}, likeCount {}->{}, portfolioCount {}->{}",
+                        agentId,
+                        starSum, expectedStarSum,
+                        reviewCount, expectedReviewCount,
+                        likeCount, expectedLikeCount,
+                        portfolioCount, expectedPortfolioCount);
+            }
+
+            agentStatsRepository.applyDelta(agentId,
+                    expectedStarSum - starSum,
+                    expectedReviewCount - reviewCount,
+                    expectedLikeCount - likeCount,
+                    expectedPortfolioCount - portfolioCount);
+        }
+        return drifted;
+    }
+
+    private Map<Long, Long> toCountMap(List<AgentCountRow> rows) {
+        return rows.stream().collect(Collectors.toMap(AgentCountRow::getAgentId, AgentCountRow::getCount));
+    }
+}
@@ -0,0 +1,69 @@
+package com.zipple.module.stats;
+
+import com.zipple.module.stats.entity.AgentStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class AgentStatsService {
+
+    private final AgentStatsRepository agentStatsRepository;
+
+    @Transactional
+    public void initialize(Long agentId) {
+        agentStatsRepository.applyDelta(agentId, 0, 0, 0, 0);
+    }
+
+    @Transactional
+    public void reviewCreated(Long agentId, int starCount) {
+        agentStatsRepository.applyDelta(agentId, starCount, 1, 0, 0);
+    }
+
+    @Transactional
+    public void reviewUpdated(Long agentId, int previousStarCount, int starCount) {
+        if (previousStarCount == starCount) {
+            return;
+        }
+        agentStatsRepository.applyDelta(agentId, starCount - previousStarCount, 0, 0, 0);
+    }
+
+    @Transactional
+    public void reviewDeleted(Long agentId, int starCount) {
+        agentStatsRepository.applyDelta(agentId, -starCount, -1, 0, 0);
+    }
+
+    @Transactional
+    public void likeAdded(Long agentId) {
+        agentStatsRepository.applyDelta(agentId, 0, 0, 1, 0);
+    }
+
+    @Transactional
+    public void likeRemoved(Long agentId) {
+        agentStatsRepository.applyDelta(agentId, 0, 0, -1, 0);
+    }
+
+    @Transactional
+    public void likesRemoved(Long agentId, long count) {
+        if (count == 0) {
+            return;
+        }
+        agentStatsRepository.applyDelta(agentId, 0, 0, -count, 0);
+    }
+
+    @Transactional
+    public void portfolioAdded(Long agentId) {
+        agentStatsRepository.applyDelta(agentId, 0, 0, 0, 1);
+    }
+
+    @Transactional
+    public void portfolioRemoved(Long agentId) {
+        agentStatsRepository.applyDelta(agentId, 0, 0, 0, -1);
+    }
+
+    @Transactional
+    public void delete(Long agentId) {
+        agentStatsRepository.deleteById(agentId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.zipple.module.stats.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "agent_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgentStats {
+
+    @Id
+    @Column(name = "agent_id")
+    private Long agentId;
+
+    @Column(name = "star_sum", nullable = false)
+    private Long starSum;
+
+    @Column(name = "review_count", nullable = false)
+    private Long reviewCount;
+
+    @Column(name = "like_count", nullable = false)
+    private Long likeCount;
+
+    @Column(name = "portfolio_count", nullable = false)
+    private Long portfolioCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public double getAverageStarCount() {
+        return averageOf(starSum, reviewCount);
+    }
+
+    public static double averageOf(Long starSum, Long reviewCount) {
+        if (starSum == null || reviewCount == null || reviewCount == 0) {
+            return 0.0;
+        }
+        return (double) starSum / reviewCount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.zipple.module.stats.entity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AgentStatsRepository extends JpaRepository<AgentStats, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO agent_stats (agent_id, star_sum, review_count, like_count, portfolio_count, updated_at) " +
+            "VALUES (:agentId, :starDelta, :reviewDelta, :likeDelta, :portfolioDelta, NOW()) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "star_sum = star_sum + VALUES(star_sum), " +
+            "review_count = review_count + VALUES(review_count), " +
+            "like_count = like_count + VALUES(like_count), " +
+            "portfolio_count = portfolio_count + VALUES(portfolio_count), " +
+            "updated_at = NOW()",
+            nativeQuery = true)
+    int applyDelta(@Param("agentId") Long agentId,
+                   @Param("starDelta") long starDelta,
+                   @Param("reviewDelta") long reviewDelta,
+                   @Param("likeDelta") long likeDelta,
+                   @Param("portfolioDelta") long portfolioDelta);
+}
@@ -0,0 +1,32 @@
+-- 좋아요 상태 변경: 집합과 카운터를 바로 바꾸고, DB 반영용 이벤트를 스트림에 남긴다.
+-- KEYS[1] 좋아요한 사용자 집합, KEYS[2] 좋아요 수, KEYS[3] 적재 표시, KEYS[4] 이벤트 스트림
+-- ARGV[1] 사용자 id, ARGV[2] LIKE | UNLIKE | TOGGLE, ARGV[3] 중개사 id
+-- 반환: 변경 후 상태(1 좋아요, 0 취소), -1 아직 DB 에서 적재되지 않음
+
+if redis.call('EXISTS', KEYS[3]) == 0 then
+    return -1
+end
+
+local member = redis.call('SISMEMBER', KEYS[1], ARGV[1])
+local target
+if ARGV[2] == 'LIKE' then
+    target = 1
+elseif ARGV[2] == 'UNLIKE' then
+    target = 0
+else
+    target = 1 - member
+end
+
+if target == member then
+    return target
+end
+
+if target == 1 then
+    redis.call('SADD', KEYS[1], ARGV[1])
+    redis.call('INCR', KEYS[2])
+else
+    redis.call('SREM', KEYS[1], ARGV[1])
+    redis.call('DECR', KEYS[2])
+end
+redis.call('XADD', KEYS[4], '*', 'userId', ARGV[1], 'agentId', ARGV[3], 'liked', target)
+return target
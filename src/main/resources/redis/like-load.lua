@@ -0,0 +1,15 @@
+-- 중개사의 좋아요 상태를 DB 값으로 처음 한 번 적재한다. 이미 적재되어 있으면 아무것도 하지 않는다.
+-- KEYS[1] 좋아요한 사용자 집합, KEYS[2] 좋아요 수, KEYS[3] 적재 표시
+-- ARGV 좋아요한 사용자 id 목록
+
+if redis.call('EXISTS', KEYS[3]) == 1 then
+    return 0
+end
+
+redis.call('DEL', KEYS[1])
+for i = 1, #ARGV do
+    redis.call('SADD', KEYS[1], ARGV[i])
+end
+redis.call('SET', KEYS[2], redis.call('SCARD', KEYS[1]))
+redis.call('SET', KEYS[3], '1')
+return 1
@@ -0,0 +1,28 @@
+-- 슬라이딩 윈도우(이전 구간 가중치 + 현재 구간) 요청 수 제한.
+-- KEYS[1] 현재 구간 카운터, KEYS[2] 이전 구간 카운터
+-- ARGV[1] 허용 요청 수, ARGV[2] 구간 길이(ms), ARGV[3] 현재 구간 경과 시간(ms),
+-- ARGV[4] 반영할 요청 수(로컬에서 먼저 통과시킨 요청 + 이번 요청)
+-- 반환: { 허용 여부(1/0), 반영 후 추정 요청 수 }
+
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local elapsed = tonumber(ARGV[3])
+local increment = tonumber(ARGV[4])
+
+local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+local weighted = previous * (window - elapsed) / window
+
+local allowed = 1
+if weighted + current + increment > limit then
+    allowed = 0
+    -- 로컬에서 이미 통과시킨 요청은 거절과 관계없이 기록한다.
+    increment = increment - 1
+end
+
+if increment > 0 then
+    current = redis.call('INCRBY', KEYS[1], increment)
+    redis.call('PEXPIRE', KEYS[1], window * 2)
+end
+
+return { allowed, math.floor(weighted + current) }
@@ -0,0 +1,29 @@
+-- 세션 종료: 세션 id 가 주어지면 그 세션의 필드만, 비어 있으면 해시 전체를 지운다.
+-- 지운 필드 중 액세스 토큰 필드의 값을 돌려주어 호출한 쪽이 해당 토큰을 폐기할 수 있게 한다.
+-- KEYS[1] 사용자 세션 해시
+-- ARGV[1] 세션 id(비어 있으면 모든 세션), ARGV[2] 액세스 토큰 필드 이름 표시(":accessTokenId:")
+-- 반환: 지운 액세스 토큰 필드 값("만료시각(ms):jti") 목록
+
+local prefix = ''
+if ARGV[1] ~= '' then
+    prefix = ARGV[1] .. ':'
+end
+
+local removed = {}
+local entries = redis.call('HGETALL', KEYS[1])
+for i = 1, #entries, 2 do
+    local field = entries[i]
+    if string.sub(field, 1, #prefix) == prefix then
+        if string.find(field, ARGV[2], 1, true) then
+            table.insert(removed, entries[i + 1])
+        end
+        if prefix ~= '' then
+            redis.call('HDEL', KEYS[1], field)
+        end
+    end
+end
+
+if prefix == '' then
+    redis.call('DEL', KEYS[1])
+end
+return removed
@@ -0,0 +1,27 @@
+-- 로그인 세션 저장: 세션 필드를 쓰고, 만료된 필드를 정리한 뒤 키 만료 시각을 가장 늦은 필드에 맞춘다.
+-- 필드 값은 "만료시각(ms):값" 형식이다.
+-- KEYS[1] 사용자 세션 해시
+-- ARGV[1] 현재 시각(ms), ARGV[2..] 필드, 값 쌍
+
+local now = tonumber(ARGV[1])
+for i = 2, #ARGV, 2 do
+    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+end
+
+local latest = 0
+local entries = redis.call('HGETALL', KEYS[1])
+for i = 1, #entries, 2 do
+    local deadline = tonumber(string.match(entries[i + 1], '^(%d+):'))
+    if deadline == nil or deadline <= now then
+        redis.call('HDEL', KEYS[1], entries[i])
+    elseif deadline > latest then
+        latest = deadline
+    end
+end
+
+if latest > now then
+    redis.call('PEXPIREAT', KEYS[1], latest)
+else
+    redis.call('DEL', KEYS[1])
+end
+return 1
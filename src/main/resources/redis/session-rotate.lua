@@ -0,0 +1,43 @@
+-- 리프레시 토큰 회전: 저장된 토큰 해시와 제시된 해시가 같을 때만 새 해시로 바꾼다.
+-- 이미 회전된(이전) 토큰이 다시 들어오면 탈취로 보고 해당 세션의 필드를 모두 지운다.
+-- KEYS[1] 사용자 세션 해시
+-- ARGV[1] 현재 시각(ms), ARGV[2] 세션 id, ARGV[3] 리프레시 토큰 필드, ARGV[4] 제시된 토큰 해시,
+-- ARGV[5] 새 필드 값("만료시각(ms):해시"), ARGV[6] 새 만료 시각(ms),
+-- ARGV[7] 새 액세스 토큰 필드, ARGV[8] 새 액세스 토큰 필드 값("만료시각(ms):jti"),
+-- ARGV[9] 액세스 토큰 필드 이름 표시(":accessTokenId:")
+-- 반환: {1} 회전 완료, {0} 세션 없음/만료, {-1, 지운 액세스 토큰 필드 값...} 재사용 감지
+
+local now = tonumber(ARGV[1])
+local stored = redis.call('HGET', KEYS[1], ARGV[3])
+if not stored then
+    return {0}
+end
+
+local deadline, value = string.match(stored, '^(%d+):(.*)$')
+if deadline == nil or tonumber(deadline) <= now then
+    return {0}
+end
+
+if value ~= ARGV[4] then
+    local prefix = ARGV[2] .. ':'
+    local result = {-1}
+    local entries = redis.call('HGETALL', KEYS[1])
+    for i = 1, #entries, 2 do
+        local field = entries[i]
+        if string.sub(field, 1, #prefix) == prefix then
+            if string.find(field, ARGV[9], 1, true) then
+                table.insert(result, entries[i + 1])
+            end
+            redis.call('HDEL', KEYS[1], field)
+        end
+    end
+    return result
+end
+
+redis.call('HSET', KEYS[1], ARGV[3], ARGV[5], ARGV[7], ARGV[8])
+local ttl = redis.call('PTTL', KEYS[1])
+local newDeadline = tonumber(ARGV[6])
+if ttl >= 0 and now + ttl < newDeadline then
+    redis.call('PEXPIREAT', KEYS[1], newDeadline)
+end
+return {1}
@@ -0,0 +1,22 @@
+-- 인증 문자 발송: 번호/IP 별 발송 횟수를 확인하고, 통과하면 인증 번호 저장과 발송 큐 적재를 한 번에 처리한다.
+-- KEYS[1] 번호별 발송 횟수, KEYS[2] IP별 발송 횟수, KEYS[3] 인증 번호, KEYS[4] 발송 스트림
+-- ARGV[1] 번호별 허용 횟수, ARGV[2] 번호별 구간(초), ARGV[3] IP별 허용 횟수, ARGV[4] IP별 구간(초),
+-- ARGV[5] 인증 번호, ARGV[6] 인증 번호 유효 시간(초), ARGV[7] 스트림 최대 길이, ARGV[8] 수신 번호, ARGV[9] 문자 내용
+-- 반환: 1 적재 완료, 0 발송 제한 초과
+
+local phoneCount = tonumber(redis.call('GET', KEYS[1]) or '0')
+local ipCount = tonumber(redis.call('GET', KEYS[2]) or '0')
+if phoneCount >= tonumber(ARGV[1]) or ipCount >= tonumber(ARGV[3]) then
+    return 0
+end
+
+if redis.call('INCR', KEYS[1]) == 1 then
+    redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+if redis.call('INCR', KEYS[2]) == 1 then
+    redis.call('EXPIRE', KEYS[2], ARGV[4])
+end
+
+redis.call('SET', KEYS[3], ARGV[5], 'EX', ARGV[6])
+redis.call('XADD', KEYS[4], 'MAXLEN', '~', ARGV[7], '*', 'to', ARGV[8], 'content', ARGV[9])
+return 1
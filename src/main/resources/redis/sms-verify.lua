@@ -0,0 +1,27 @@
+-- 인증 번호 확인: 비교와 삭제를 원자적으로 처리하고, 실패 횟수가 한도에 닿으면 잠근다.
+-- KEYS[1] 인증 번호, KEYS[2] 실패 횟수
+-- ARGV[1] 입력한 인증 번호, ARGV[2] 허용 실패 횟수, ARGV[3] 잠금 시간(초)
+-- 반환: 1 성공, 0 불일치, -1 잠김
+
+local maxAttempts = tonumber(ARGV[2])
+local attempts = tonumber(redis.call('GET', KEYS[2]) or '0')
+if attempts >= maxAttempts then
+    return -1
+end
+
+local stored = redis.call('GET', KEYS[1])
+if stored and stored == ARGV[1] then
+    redis.call('DEL', KEYS[1], KEYS[2])
+    return 1
+end
+
+attempts = redis.call('INCR', KEYS[2])
+if attempts == 1 then
+    redis.call('EXPIRE', KEYS[2], ARGV[3])
+end
+if attempts >= maxAttempts then
+    -- 잠기면 남은 인증 번호도 버려 다시 발송받도록 한다.
+    redis.call('DEL', KEYS[1])
+    redis.call('EXPIRE', KEYS[2], ARGV[3])
+end
+return 0
@@ -0,0 +1,25 @@
+-- 중개사별 집계 테이블 (리뷰 별점 합/개수, 좋아요 수, 포트폴리오 수)
+CREATE TABLE IF NOT EXISTS agent_stats (
+    agent_id        BIGINT      NOT NULL PRIMARY KEY,
+    star_sum        BIGINT      NOT NULL DEFAULT 0,
+    review_count    BIGINT      NOT NULL DEFAULT 0,
+    like_count      BIGINT      NOT NULL DEFAULT 0,
+    portfolio_count BIGINT      NOT NULL DEFAULT 0,
+    updated_at      DATETIME(6) NULL
+);
+
+-- 기존 데이터 초기 적재
+INSERT INTO agent_stats (agent_id, star_sum, review_count, like_count, portfolio_count, updated_at)
+SELECT a.id,
+       COALESCE((SELECT SUM(r.star_count) FROM reviews r WHERE r.agent_id = a.id), 0),
+       (SELECT COUNT(*) FROM reviews r WHERE r.agent_id = a.id),
+       (SELECT COUNT(*) FROM agent_likes l WHERE l.agent_id = a.id AND l.is_deleted = FALSE),
+       (SELECT COUNT(*) FROM portfolios p WHERE p.user_id = a.id),
+       NOW()
+FROM agent_users a
+ON DUPLICATE KEY UPDATE
+    star_sum        = VALUES(star_sum),
+    review_count    = VALUES(review_count),
+    like_count      = VALUES(like_count),
+    portfolio_count = VALUES(portfolio_count),
+    updated_at      = VALUES(updated_at);
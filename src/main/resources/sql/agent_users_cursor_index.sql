@@ -0,0 +1,2 @@
+-- /api/v1/main/matching/category/cursor 의 카테고리별 id 역순 탐색용 인덱스
+CREATE INDEX idx_agent_users_specialty_id ON agent_users (agent_specialty, id);
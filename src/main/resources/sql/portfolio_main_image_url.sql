@@ -0,0 +1,17 @@
+-- 포트폴리오 대표 이미지 URL 비정규화 컬럼
+ALTER TABLE portfolios ADD COLUMN main_image_url VARCHAR(255) NULL;
+
+-- 기존 데이터 채우기 (대표 이미지가 여러 장이면 먼저 등록된 이미지)
+UPDATE portfolios p
+SET p.main_image_url = (
+    SELECT pi.image_url
+    FROM portfolio_images pi
+    WHERE pi.portfolio_id = p.id
+      AND pi.is_main = TRUE
+    ORDER BY pi.id
+    LIMIT 1
+)
+WHERE p.main_image_url IS NULL;
+
+-- 중개사별 포트폴리오 카드 최신순 조회용 인덱스
+CREATE INDEX idx_portfolios_user_type_created ON portfolios (user_id, agent_type, created_at);
@@ -0,0 +1,100 @@
+package com.zipple.common.auth.jwt;
+
+import com.zipple.module.member.common.entity.User;
+import com.zipple.module.member.common.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 요청마다 토큰을 두 번 파싱하고 사용자를 두 번 조회하던 이전 인증 경로와 현재 {@link JwtTokenProvider#authenticate} 를 비교한다.
+ * 현재 경로는 같은 토큰이 다시 들어오는 경우(캐시 적중)와 매번 새 토큰인 경우(파싱 1회 + 이메일 조회 1회)를 따로 잰다.
+ * 실제 DB 를 읽으므로 -Dauth.benchmark=true 를 줄 때만 실행한다.
+ * <pre>./gradlew test --tests '*JwtAuthenticationBenchmark' -Dauth.benchmark=true -i</pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "auth.benchmark", matches = "true")
+class JwtAuthenticationBenchmark {
+
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 5000;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.secret}")
+    private String secretKey;
+
+    @Test
+    void compareAuthenticationPaths() {
+        Long userId = userRepository.findAll(PageRequest.of(0, 50)).stream()
+                .filter(user -> user.getEmail() != null)
+                .map(User::getId)
+                .findFirst()
+                .orElse(null);
+        assumeTrue(userId != null, "이메일이 있는 사용자가 한 명 이상 있어야 한다");
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        Date expiredAt = new Date(System.currentTimeMillis() + 3_600_000L);
+
+        String token = newToken(userId, expiredAt);
+        measure("legacy (parse x2 + findById + findByEmail)", token, t -> legacyAuthenticate(key, t));
+        measure("current, same token (cache hit)", token, t -> assertTrue(jwtTokenProvider.authenticate(t).isPresent()));
+
+        List<String> freshTokens = new ArrayList<>();
+        for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+            freshTokens.add(newToken(userId, expiredAt));
+        }
+        int[] next = {0};
+        measure("current, new token each time (cache miss)", null,
+                t -> assertTrue(jwtTokenProvider.authenticate(freshTokens.get(next[0]++)).isPresent()));
+    }
+
+    private String newToken(Long userId, Date expiredAt) {
+        return jwtTokenProvider.generate(String.valueOf(userId), UUID.randomUUID().toString(),
+                JwtTokenProvider.ACCESS_TOKEN_TYPE, expiredAt);
+    }
+
+    /**
+     * 이전 JwtFilter + JwtTokenProvider 가 요청마다 하던 일: validateToken 과 getAuthentication 이 각각 파서를 새로 만들어 파싱하고,
+     * findById 로 이메일을 찾은 뒤 findByEmail 로 다시 조회했다.
+     */
+    private void legacyAuthenticate(Key key, String token) {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        User user = userRepository.findById(Long.valueOf(claims.getSubject())).orElseThrow();
+        assertTrue(userRepository.findByEmail(user.getEmail()).isPresent());
+    }
+
+    private void measure(String label, String token, Consumer<String> authentication) {
+        for (int i = 0; i < WARMUP; i++) {
+            authentication.accept(token);
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            authentication.accept(token);
+        }
+        double elapsedMillis = (System.nanoTime() - startedAt) / 1e6;
+        System.out.printf("[%s] %.0f auth/s, %.1f us/auth%n",
+                label, ITERATIONS / (elapsedMillis / 1000), elapsedMillis * 1000 / ITERATIONS);
+    }
+}
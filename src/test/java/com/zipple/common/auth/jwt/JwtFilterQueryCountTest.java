@@ -0,0 +1,93 @@
+package com.zipple.common.auth.jwt;
+
+import com.zipple.module.member.common.entity.User;
+import com.zipple.module.member.common.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 같은 액세스 토큰으로 다시 들어온 요청은 JwtFilter 에서 인증하는 데 SQL 을 한 번도 실행하지 않는지 확인한다.
+ * 처음 보는 토큰은 이메일 조회 1회로 인증하고, 그 뒤로는 인증 캐시에서 꺼낸다.
+ * JwtFilter 뒤에 인증 정보를 기록하고 요청을 끝내는 필터를 두어 역할 조회 컨트롤러(/api/auth/role)의 쿼리는 세지 않는다.
+ * 실제 DB 를 읽으므로 -Dquery-count.test=true 를 줄 때만 실행한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "query-count.test", matches = "true")
+class JwtFilterQueryCountTest {
+
+    private static final String PATH = "/api/auth/role";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterRegistrationBean<JwtFilter> jwtFilter;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatRequestWithTheSameTokenRunsNoQueries() throws Exception {
+        Long userId = userRepository.findAll(PageRequest.of(0, 50)).stream()
+                .filter(user -> user.getEmail() != null)
+                .map(User::getId)
+                .findFirst()
+                .orElse(null);
+        assumeTrue(userId != null, "이메일이 있는 사용자가 한 명 이상 있어야 한다");
+        String token = jwtTokenProvider.generate(String.valueOf(userId), UUID.randomUUID().toString(),
+                JwtTokenProvider.ACCESS_TOKEN_TYPE, new Date(System.currentTimeMillis() + 3_600_000L));
+
+        AtomicReference<Authentication> authenticated = new AtomicReference<>();
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilter(jwtFilter.getFilter(), "/api/*")
+                .addFilter((request, response, chain) -> {
+                    authenticated.set(SecurityContextHolder.getContext().getAuthentication());
+                    SecurityContextHolder.clearContext();
+                }, "/api/*")
+                .build();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(get(PATH).header("Authorization", "Bearer " + token));
+        assertNotNull(authenticated.getAndSet(null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(get(PATH).header("Authorization", "Bearer " + token));
+        assertNotNull(authenticated.get());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.zipple.common.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 카카오 / SENS 대신 띄우는 로컬 HTTP 서버. 모든 경로에 "{}" 를 JSON 으로 돌려준다.
+ * 응답 지연, 본문 전송 지연, 응답 상태 코드를 바꿔 느린 업스트림과 장애를 흉내 낼 수 있고,
+ * hold() 로 응답을 붙잡아 둘 수 있다. 받은 요청 수와 클라이언트 커넥션 수를 센다.
+ */
+public class StubUpstream implements AutoCloseable {
+
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration bodyDelay = Duration.ZERO;
+    private volatile int status = 200;
+    private volatile CountDownLatch gate;
+
+    private StubUpstream() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static StubUpstream start() throws IOException {
+        return new StubUpstream();
+    }
+
+    public String url(String path) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * 응답 헤더를 보낸 뒤 본문을 보내기 전까지 기다릴 시간. 클라이언트가 본문을 느리게 받는 상황을 만든다.
+     */
+    public void setBodyDelay(Duration bodyDelay) {
+        this.bodyDelay = bodyDelay;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * release() 를 부를 때까지 들어온 요청에 응답하지 않는다.
+     */
+    public void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void release() {
+        CountDownLatch current = gate;
+        gate = null;
+        if (current != null) {
+            current.countDown();
+        }
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * 요청을 보낸 서로 다른 클라이언트 커넥션 수. keep-alive 로 재사용하면 요청 수보다 작다.
+     */
+    public int connectionCount() {
+        return clientPorts.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        try {
+            CountDownLatch current = gate;
+            if (current != null) {
+                current.await(30, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pause(latency);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, BODY.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.flush();
+            pause(bodyDelay);
+            out.write(BODY);
+        }
+    }
+
+    private void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
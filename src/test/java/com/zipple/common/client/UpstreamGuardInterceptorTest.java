@@ -0,0 +1,138 @@
+package com.zipple.common.client;
+
+import com.zipple.common.exception.custom.UpstreamBusyException;
+import com.zipple.common.exception.custom.UpstreamUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 스텁 업스트림에 지연과 장애를 넣어 벌크헤드와 서킷 브레이커 동작을 확인한다.
+ */
+class UpstreamGuardInterceptorTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofMillis(300);
+
+    private StubUpstream upstream;
+    private MeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = StubUpstream.start();
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker(10, 5, 50.0, OPEN_DURATION.toMillis(), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondMaxConcurrentWhileUpstreamIsSlow() throws Exception {
+        RestTemplate restTemplate = guardedRestTemplate(2, 5000);
+        upstream.setLatency(Duration.ofSeconds(1));
+
+        CompletableFuture<String> first = call(restTemplate);
+        CompletableFuture<String> second = call(restTemplate);
+        awaitRequests(2);
+
+        assertThrows(UpstreamBusyException.class, () -> restTemplate.getForObject(upstream.url("/"), String.class));
+        assertEquals(1.0, rejected("bulkhead"));
+
+        assertEquals("{}", first.get(5, TimeUnit.SECONDS));
+        assertEquals("{}", second.get(5, TimeUnit.SECONDS));
+        assertEquals("{}", restTemplate.getForObject(upstream.url("/"), String.class));
+    }
+
+    @Test
+    void bulkheadIsHeldUntilTheResponseBodyIsRead() throws Exception {
+        RestTemplate restTemplate = guardedRestTemplate(1, 5000);
+        upstream.setBodyDelay(Duration.ofSeconds(1));
+
+        CompletableFuture<String> slowBody = call(restTemplate);
+        awaitRequests(1);
+        // 첫 호출은 헤더를 받은 뒤 본문을 기다리는 중이므로 아직 동시 호출 한도를 차지하고 있다.
+        Thread.sleep(200);
+
+        assertThrows(UpstreamBusyException.class, () -> restTemplate.getForObject(upstream.url("/"), String.class));
+
+        assertEquals("{}", slowBody.get(5, TimeUnit.SECONDS));
+        upstream.setBodyDelay(Duration.ZERO);
+        assertEquals("{}", restTemplate.getForObject(upstream.url("/"), String.class));
+    }
+
+    @Test
+    void circuitOpensOnInjectedServerErrorsAndRecovers() throws Exception {
+        RestTemplate restTemplate = guardedRestTemplate(10, 5000);
+        upstream.setStatus(503);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(upstream.url("/"), String.class));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // OPEN 동안에는 업스트림을 부르지 않고 바로 거절한다.
+        assertThrows(UpstreamUnavailableException.class, () -> restTemplate.getForObject(upstream.url("/"), String.class));
+        assertEquals(5, upstream.requestCount());
+        assertEquals(1.0, rejected("circuit-open"));
+
+        upstream.setStatus(200);
+        Thread.sleep(OPEN_DURATION.toMillis() + 100);
+        assertEquals("{}", restTemplate.getForObject(upstream.url("/"), String.class));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void circuitOpensOnInjectedLatencyBeyondReadTimeout() {
+        RestTemplate restTemplate = guardedRestTemplate(10, 100);
+        upstream.setLatency(Duration.ofMillis(500));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(upstream.url("/"), String.class));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(UpstreamUnavailableException.class, () -> restTemplate.getForObject(upstream.url("/"), String.class));
+    }
+
+    private CompletableFuture<String> call(RestTemplate restTemplate) {
+        return CompletableFuture.supplyAsync(() -> restTemplate.getForObject(upstream.url("/"), String.class));
+    }
+
+    private void awaitRequests(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (upstream.requestCount() < expected) {
+            assertTrue(System.nanoTime() < deadline, "요청이 " + expected + "건 도착하지 않았다");
+            Thread.sleep(20);
+        }
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("upstream.rejected").tag("client", "stub").tag("reason", reason).counter().count();
+    }
+
+    private RestTemplate guardedRestTemplate(int maxConcurrent, int readTimeoutMillis) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory();
+        requestFactory.setReadTimeout(readTimeoutMillis);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new UpstreamGuardInterceptor(
+                "stub", maxConcurrent, Duration.ofMillis(100), circuitBreaker, meterRegistry));
+        return restTemplate;
+    }
+}
@@ -0,0 +1,111 @@
+package com.zipple.common.config;
+
+import com.zipple.common.client.StubUpstream;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 외부 API RestTemplate 의 커넥션 풀과 타임아웃을 로컬 스텁 서버로 확인한다.
+ */
+class ClientConfigTest {
+
+    private StubUpstream upstream;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = StubUpstream.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void reusesKeepAliveConnections() {
+        RestTemplate restTemplate = kakaoRestTemplate();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("{}", restTemplate.getForObject(upstream.url("/v2/user/me"), String.class));
+        }
+
+        assertEquals(5, upstream.requestCount());
+        assertEquals(1, upstream.connectionCount());
+    }
+
+    @Test
+    void readTimeoutFailsSlowCalls() {
+        RestTemplate restTemplate = kakaoRestTemplate("read-timeout", "200ms");
+        upstream.setLatency(Duration.ofSeconds(2));
+
+        long startedAt = System.nanoTime();
+        assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(upstream.url("/v2/user/me"), String.class));
+
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void poolLimitsConnectionsAndTimesOutWaitingForALease() throws Exception {
+        RestTemplate restTemplate = kakaoRestTemplate(
+                "max-connections", "2",
+                "max-connections-per-route", "2",
+                "connect-timeout", "300ms");
+        upstream.hold();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> restTemplate.getForObject(upstream.url("/first"), String.class));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                () -> restTemplate.getForObject(upstream.url("/second"), String.class));
+        awaitLeased(2);
+
+        // 두 커넥션이 모두 붙잡혀 있으므로 세 번째 요청은 풀에서 커넥션을 얻지 못하고 대기 시간(connect-timeout) 뒤 실패한다.
+        assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(upstream.url("/third"), String.class));
+
+        upstream.release();
+        assertEquals("{}", first.get(5, TimeUnit.SECONDS));
+        assertEquals("{}", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, upstream.requestCount());
+        assertEquals(2, upstream.connectionCount());
+    }
+
+    private void awaitLeased(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (poolGauge("leased") < expected) {
+            assertTrue(System.nanoTime() < deadline, "커넥션이 " + expected + "개 임대되지 않았다");
+            Thread.sleep(20);
+        }
+    }
+
+    private double poolGauge(String state) {
+        return meterRegistry.get("http.client.pool." + state).tag("client", "kakao").gauge().value();
+    }
+
+    private RestTemplate kakaoRestTemplate(String... properties) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setConversionService(new ApplicationConversionService());
+        for (int i = 0; i < properties.length; i += 2) {
+            environment.setProperty("http-client.kakao." + properties[i], properties[i + 1]);
+        }
+        return new ClientConfig().kakaoRestTemplate(new RestTemplateBuilder(), meterRegistry, environment);
+    }
+}
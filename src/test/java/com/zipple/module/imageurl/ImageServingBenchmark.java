@@ -0,0 +1,118 @@
+package com.zipple.module.imageurl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * /zipple/** 이미지 전송을 sendfile(zero-copy) 경로와 스트림 복사 경로로 나눠 처리량과 MB 당 CPU 시간을 비교한다.
+ * 스트림 복사 경로는 이전 구현(FileSystemResource 를 8KB 버퍼로 복사)과 같은 방식이다.
+ * 클라이언트도 같은 JVM 에서 돌기 때문에 CPU 시간에는 수신 비용이 포함되지만, 두 경우에 똑같이 들어가므로 차이는 서버 쪽 비용이다.
+ * <pre>./gradlew test --tests '*ImageServingBenchmark*' -Dimage.benchmark=true -i</pre>
+ */
+class ImageServingBenchmark {
+
+    private static final int FILE_SIZE = 2 * 1024 * 1024;
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int REQUESTS = 2000;
+    private static final int CONCURRENCY = 16;
+
+    private static final Path ROOT;
+    private static final Path IMAGE;
+
+    static {
+        try {
+            ROOT = Files.createTempDirectory("zipple-image-benchmark");
+            IMAGE = ROOT.resolve(UUID.randomUUID() + ".png");
+            byte[] content = new byte[FILE_SIZE];
+            new Random(42).nextBytes(content);
+            Files.write(IMAGE, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "image.zero-copy=true")
+    @EnabledIfSystemProperty(named = "image.benchmark", matches = "true")
+    static class ZeroCopy extends Scenario {
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "image.zero-copy=false")
+    @EnabledIfSystemProperty(named = "image.benchmark", matches = "true")
+    static class StreamCopy extends Scenario {
+    }
+
+    abstract static class Scenario {
+
+        @LocalServerPort
+        private int port;
+
+        @DynamicPropertySource
+        static void imageRoot(DynamicPropertyRegistry registry) {
+            registry.add("image.allowed-roots", ROOT::toString);
+        }
+
+        @Test
+        void download() throws Exception {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/zipple" + IMAGE)).build();
+            com.sun.management.OperatingSystemMXBean os =
+                    (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+            ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+            try {
+                fire(executor, client, request, WARMUP_REQUESTS);
+
+                long cpuStartedAt = os.getProcessCpuTime();
+                long startedAt = System.nanoTime();
+                fire(executor, client, request, REQUESTS);
+                double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+                double cpuMillis = (os.getProcessCpuTime() - cpuStartedAt) / 1e6;
+
+                double megabytes = (double) REQUESTS * FILE_SIZE / (1024 * 1024);
+                System.out.printf("[%s] %d x %d KB, %.1f MB/s, CPU %.2f ms/MB%n",
+                        getClass().getSimpleName(), REQUESTS, FILE_SIZE / 1024,
+                        megabytes / elapsedSeconds, cpuMillis / megabytes);
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        private void fire(ExecutorService executor, HttpClient client, HttpRequest request, int count) throws Exception {
+            List<Callable<Long>> downloads = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                downloads.add(() -> {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    assertEquals(200, response.statusCode());
+                    return (long) response.body().length;
+                });
+            }
+            for (Future<Long> downloaded : executor.invokeAll(downloads)) {
+                assertEquals(FILE_SIZE, downloaded.get());
+            }
+        }
+    }
+}
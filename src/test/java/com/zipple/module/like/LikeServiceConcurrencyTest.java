@@ -0,0 +1,108 @@
+package com.zipple.module.like;
+
+import com.zipple.common.exception.custom.RequestTooFastException;
+import com.zipple.module.like.entity.AgentLikeRepository;
+import com.zipple.module.like.entity.AgentLikeStateRow;
+import com.zipple.module.member.common.entity.User;
+import com.zipple.module.member.common.repository.UserRepository;
+import com.zipple.module.stats.entity.AgentStats;
+import com.zipple.module.stats.entity.AgentStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 같은 중개사에 대한 좋아요 토글을 수천 건 동시에 보내고, 최종 좋아요 상태와 agent_stats.like_count 가 맞는지 확인한다.
+ * 실제 DB 에 쓰므로 대상 중개사 id 를 지정했을 때만 실행한다. 끝나면 각 사용자의 좋아요 상태를 원래대로 돌려놓는다.
+ * <pre>./gradlew test --tests '*LikeServiceConcurrencyTest' -Dlike.stress-test.agent-id=1</pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "like.stress-test.agent-id", matches = "\\d+")
+class LikeServiceConcurrencyTest {
+
+    private static final int USER_COUNT = 20;
+    private static final int TOGGLES_PER_USER = 100;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private AgentLikeRepository agentLikeRepository;
+
+    @Autowired
+    private AgentStatsRepository agentStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void parallelTogglesKeepLikeStateAndCountConsistent() throws InterruptedException {
+        Long agentId = Long.getLong("like.stress-test.agent-id");
+        List<Long> userIds = userRepository.findAll(PageRequest.of(0, USER_COUNT)).map(User::getId).getContent();
+
+        Map<Long, Boolean> before = likedStates(userIds, agentId);
+        long likeCountBefore = likeCount(agentId);
+
+        Map<Long, AtomicInteger> applied = new ConcurrentHashMap<>();
+        List<Callable<Void>> toggles = new ArrayList<>();
+        for (Long userId : userIds) {
+            applied.put(userId, new AtomicInteger());
+            for (int i = 0; i < TOGGLES_PER_USER; i++) {
+                toggles.add(() -> {
+                    try {
+                        likeService.toggle(userId, agentId);
+                        applied.get(userId).incrementAndGet();
+                    } catch (RequestTooFastException e) {
+                        // 재시도를 모두 써도 잠금을 얻지 못한 토글은 반영되지 않은 것으로 센다.
+                    }
+                    return null;
+                });
+            }
+        }
+        Collections.shuffle(toggles);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            executor.invokeAll(toggles);
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<Long, Boolean> after = likedStates(userIds, agentId);
+        long expectedDelta = 0;
+        for (Long userId : userIds) {
+            boolean expected = before.get(userId) ^ (applied.get(userId).get() % 2 == 1);
+            assertEquals(expected, after.get(userId), "userId=" + userId);
+            expectedDelta += (after.get(userId) ? 1 : 0) - (before.get(userId) ? 1 : 0);
+        }
+        assertEquals(likeCountBefore + expectedDelta, likeCount(agentId));
+
+        for (Long userId : userIds) {
+            if (!before.get(userId).equals(after.get(userId))) {
+                likeService.toggle(userId, agentId);
+            }
+        }
+    }
+
+    private Map<Long, Boolean> likedStates(List<Long> userIds, Long agentId) {
+        Map<Long, Boolean> states = new HashMap<>();
+        userIds.forEach(userId -> states.put(userId, false));
+        for (AgentLikeStateRow row : agentLikeRepository.findStates(userIds, List.of(agentId))) {
+            states.put(row.getUserId(), !row.isDeleted());
+        }
+        return states;
+    }
+
+    private long likeCount(Long agentId) {
+        return agentStatsRepository.findById(agentId).map(AgentStats::getLikeCount).orElse(0L);
+    }
+}
@@ -0,0 +1,63 @@
+package com.zipple.module.mainpage;
+
+import com.zipple.module.mainpage.cache.AgentProfileCache;
+import com.zipple.module.member.common.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 카드 목록 조립에 쓰는 SQL 문 수가 페이지 크기와 무관한지 확인한다.
+ * 매번 캐시를 비우고 조회하므로 카드 쿼리와 좋아요 여부 쿼리가 모두 DB 로 간다.
+ * 실제 DB 를 읽으므로 -Dquery-count.test=true 를 줄 때만 실행한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "query-count.test", matches = "true")
+class AgentMatchingAssemblerQueryCountTest {
+
+    private static final int SMALL_PAGE = 3;
+    private static final int LARGE_PAGE = 9;
+
+    @Autowired
+    private AgentMatchingAssembler agentMatchingAssembler;
+
+    @Autowired
+    private AgentProfileCache agentProfileCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statementCountDoesNotGrowWithPageSize() {
+        List<Long> agentIds = userRepository.findAgentUserIds(PageRequest.of(0, LARGE_PAGE)).getContent();
+        assumeTrue(agentIds.size() == LARGE_PAGE, "중개사가 " + LARGE_PAGE + "명 이상 있어야 한다");
+        Long viewerId = agentIds.get(0);
+
+        long smallPageStatements = countStatements(agentIds.subList(0, SMALL_PAGE), viewerId);
+        long largePageStatements = countStatements(agentIds, viewerId);
+
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    private long countStatements(List<Long> agentIds, Long viewerId) {
+        agentIds.forEach(agentProfileCache::evict);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(agentIds.size(), agentMatchingAssembler.assemble(agentIds, viewerId).size());
+        return statistics.getPrepareStatementCount();
+    }
+}
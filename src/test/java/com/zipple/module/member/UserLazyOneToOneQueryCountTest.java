@@ -0,0 +1,63 @@
+package com.zipple.module.member;
+
+import com.zipple.module.member.common.entity.User;
+import com.zipple.module.member.common.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * User 의 mappedBy 일대일 연관(agentUser, generalUser)이 바이트코드 향상으로 실제로 지연 로딩되는지 SQL 문 수로 확인한다.
+ * 향상이 빠지면 findById 한 번에 두 연관을 찾는 select 가 더 나가 이 테스트가 실패한다.
+ * 실제 DB 를 읽으므로 -Dquery-count.test=true 를 줄 때만 실행한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "query-count.test", matches = "true")
+class UserLazyOneToOneQueryCountTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void findByIdDoesNotLoadOneToOnes() {
+        List<Long> agentIds = userRepository.findAgentUserIds(PageRequest.of(0, 1)).getContent();
+        assumeTrue(!agentIds.isEmpty(), "중개사가 한 명 이상 있어야 한다");
+        Long userId = agentIds.get(0);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        PersistenceUnitUtil persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statistics.clear();
+            User user = userRepository.findById(userId).orElseThrow();
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertFalse(persistenceUnitUtil.isLoaded(user, "agentUser"));
+            assertFalse(persistenceUnitUtil.isLoaded(user, "generalUser"));
+
+            // 연관에 처음 접근할 때 그 연관만 따로 읽는다.
+            user.getAgentUser();
+            assertEquals(2, statistics.getPrepareStatementCount());
+            assertFalse(persistenceUnitUtil.isLoaded(user, "generalUser"));
+        });
+    }
+}